@@ -1,4 +1,8 @@
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 // The solution idea of this program is to determine whether each year in the input list is a leap year (a year divisible by 4 but not by 100, or divisible by 400).
 // Then, it determines the correct tense (past, present, or future) based on the relationship between the year and the current year, 2024.
@@ -19,14 +23,150 @@ public class LeapYearChecker {
         return false; // Not a leap year
     }
 
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(char ch) {
+            if (ch < 0x80) {
+                write(ch);
+                return this;
+            }
+            return print(String.valueOf(ch));
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in); // Create a scanner to read user input
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
         int currentYear = 2024; // Define the current year
-        int n = scanner.nextInt(); // Read the number of years to check
+        int n = in.nextInt(); // Read the number of years to check
 
         // Iterate through the list of years
         for (int i = 0; i < n; i++) {
-            int year = scanner.nextInt(); // Read the year to be checked
+            int year = in.nextInt(); // Read the year to be checked
             String tense; // Variable to store the tense of the sentence
 
             // Determine the tense based on the relationship with the current year
@@ -42,9 +182,8 @@ public class LeapYearChecker {
             String yearType = isLeapYear(year) ? "leap year" : "common year";
 
             // Print the result in the required format
-            System.out.println(year + " " + tense + " a " + yearType + ".");
+            out.print(year).print(' ').print(tense).print(" a ").print(yearType).print('.').println();
         }
-
-        scanner.close(); // Close the scanner to release resources
+        out.flush();
     }
 }
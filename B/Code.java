@@ -1,6 +1,11 @@
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 // The problem requires calculating the savings for customers under a "buy X, get 1 free" discount scheme.
 // First, we take the product name and its price in dollars and cents, which are converted into a single value in cents for easier calculations.
@@ -10,33 +15,200 @@ import java.util.ArrayList;
 // Finally, we format and output the results, showing the number of items bought, paid for, and received for free, along with the total savings in dollars and cents.
 public class DiscountCalculator {
 
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+
+        // Return the rest of the current line without its terminator, or null at the end of the input
+        String nextLine() {
+            int ch = peek();
+            if (ch == -1) return null;
+            int n = 0;
+            while (ch != -1 && ch != '\n') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
+            }
+            if (ch == '\n') ptr++;
+            if (n > 0 && tok[n - 1] == '\r') n--;
+            return new String(tok, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(char ch) {
+            if (ch < 0x80) {
+                write(ch);
+                return this;
+            }
+            return print(String.valueOf(ch));
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        // Print a non-negative value at least the given number of digits wide, padded with leading zeros
+        FastOutput printPadded(long value, int width) {
+            for (long limit = 10; width > 1; width--, limit *= 10) {
+                if (value < limit) write('0');
+            }
+            return print(value);
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
 
         // Input product name (can contain spaces)
-        String productName = scanner.nextLine();
+        String productName = in.nextLine();
 
         // Input price information: PD (dollars) and PC (cents)
-        int PD = scanner.nextInt(); // Dollar part of the price
-        int PC = scanner.nextInt(); // Cent part of the price
+        int PD = in.nextInt(); // Dollar part of the price
+        int PC = in.nextInt(); // Cent part of the price
 
         // Input the discount rule: Buy B items, get 1 free
-        int B = scanner.nextInt();
+        int B = in.nextInt();
 
         // Input the number of test cases (E)
-        int E = scanner.nextInt();
+        int E = in.nextInt();
 
         // Input the quantities for each test case
         List<Integer> quantities = new ArrayList<>();
         for (int i = 0; i < E; i++) {
-            quantities.add(scanner.nextInt());
+            quantities.add(in.nextInt());
         }
 
         // Calculate the price per item in cents
         int pricePerItem = PD * 100 + PC;
 
         // Output the product name
-        System.out.println(productName);
+        out.print(productName).println();
 
         // Process each quantity and calculate savings
         for (int qty : quantities) {
@@ -58,13 +230,10 @@ public class DiscountCalculator {
             int cents = savings % 100;
 
             // Output the result for the current quantity
-            System.out.printf(
-                    "Buy %d, pay for %d, get %d free. Save $%d.%02d.\n",
-                    qty, paidItems, freeItems, dollars, cents
-            );
+            out.print("Buy ").print(qty).print(", pay for ").print(paidItems)
+                    .print(", get ").print(freeItems).print(" free. Save $")
+                    .print(dollars).print('.').printPadded(cents, 2).print(".\n");
         }
-
-        // Close the scanner to avoid resource leaks
-        scanner.close();
+        out.flush();
     }
 }
@@ -1,6 +1,9 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Scanner;
 
 // The solution starts by understanding the crime scene grid setup.
 // Each grid cell can hold items, and we are tasked with finding how many items are present in specific cells based on given data.
@@ -13,23 +16,138 @@ import java.util.Scanner;
 // This straightforward process mirrors how the problem is presented: mapping input coordinates to cell counts and then querying the required cells to compute the result.
 public class GridItemCounter {
 
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
 
         // Input the dimensions of the grid (length X and width Y)
-        int X = scanner.nextInt();
-        int Y = scanner.nextInt();
+        int X = in.nextInt();
+        int Y = in.nextInt();
 
         // Input the number of items found at the crime scene
-        int M = scanner.nextInt();
+        int M = in.nextInt();
 
         // Use a Map to store the count of items in each grid cell
         Map<String, Integer> itemCount = new HashMap<>();
 
         // Read the coordinates of the grid cells where items were found
         for (int i = 0; i < M; i++) {
-            int x = scanner.nextInt(); // X-coordinate of the item
-            int y = scanner.nextInt(); // Y-coordinate of the item
+            int x = in.nextInt(); // X-coordinate of the item
+            int y = in.nextInt(); // Y-coordinate of the item
             String key = x + "," + y; // Use "x,y" as the unique key for the grid cell
 
             // Increment the count for this cell (default is 0 if not already in the Map)
@@ -37,14 +155,14 @@ public class GridItemCounter {
         }
 
         // Input the number of cells to query for the total item count
-        int N = scanner.nextInt();
+        int N = in.nextInt();
 
         int totalItems = 0; // Variable to store the total number of items found in queried cells
 
         // Read the coordinates of the cells to query and calculate the total items
         for (int i = 0; i < N; i++) {
-            int x = scanner.nextInt(); // X-coordinate of the queried cell
-            int y = scanner.nextInt(); // Y-coordinate of the queried cell
+            int x = in.nextInt(); // X-coordinate of the queried cell
+            int y = in.nextInt(); // Y-coordinate of the queried cell
             String key = x + "," + y; // Use "x,y" as the unique key for querying the Map
 
             // Add the count of items in this cell to the total (default is 0 if not in the Map)
@@ -52,9 +170,7 @@ public class GridItemCounter {
         }
 
         // Output the total number of items found in the queried cells
-        System.out.println(totalItems);
-
-        // Close the scanner to free resources
-        scanner.close();
+        out.print(totalItems).println();
+        out.flush();
     }
 }
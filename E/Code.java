@@ -1,6 +1,11 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Arrays;
 
 // The core of this problem is to generate a check digit for a given sequence of numbers (student ID) to ensure its validity and to detect any potential tampering.
 // The process to generate the check digit is straightforward: starting from the rightmost digit of the ID, multiply each digit by an incrementing weight, sum up the results, then take the remainder when divided by 11.
@@ -41,14 +46,139 @@ public class IDValidator {
         return (sum % 11 == 0);             // Valid if the sum is divisible by 11
     }
 
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Tokens are cut straight out of the byte buffer, so only the returned Strings are ever allocated
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
+        }
+
+        // Read the next whitespace-separated token into the scratch buffer and return its length
+        private int readToken() {
+            int n = 0, ch = skipSpaces();
+            while (ch > ' ') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
+            }
+            return n;
+        }
+
+        // Return the next whitespace-separated token, or null at the end of the input
+        String nextToken() {
+            int n = readToken();
+            return n == 0 ? null : new String(tok, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Text is copied into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(char ch) {
+            if (ch < 0x80) {
+                write(ch);
+                return this;
+            }
+            return print(String.valueOf(ch));
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
         List<String> inputIDs = new ArrayList<>(); // Store all input IDs
 
         // Read input IDs until '0' is encountered
         while (true) {
-            String id = scanner.next();
-            if (id.equals("0")) break; // Stop when the input is '0'
+            String id = in.nextToken();
+            if (id == null || id.equals("0")) break; // Stop when the input is '0' or exhausted
             inputIDs.add(id);         // Add the ID to the list
         }
 
@@ -58,15 +188,13 @@ public class IDValidator {
             char checkDigit = generateCheckDigit(id);
 
             // Output the result for the ID
-            System.out.print(id + " -> ");
+            out.print(id).print(" -> ");
             if (checkDigit == 'X') {
-                System.out.println("rejected"); // If the ID is rejected
+                out.print("rejected").println(); // If the ID is rejected
             } else {
-                String newID = id + checkDigit; // Append the check digit to the ID
-                System.out.println(newID);      // Print the new ID with the check digit
+                out.print(id).print(checkDigit).println(); // Print the new ID with the check digit appended
             }
         }
-
-        scanner.close(); // Close the scanner to release resources
+        out.flush();
     }
 }
@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 // The problem involves calculating free turns in a golf croquet doubles match based on the handicaps of four players, divided into two teams.
@@ -32,8 +37,169 @@ public class FreeTurnsCalculator {
         return new int[]{turns, remainder};
     }
 
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
+        }
+
+        // Read the next whitespace-separated token into the scratch buffer and return its length
+        private int readToken() {
+            int n = 0, ch = skipSpaces();
+            while (ch > ' ') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
+            }
+            return n;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+
+        // Return the next whitespace-separated token, or null at the end of the input
+        String nextToken() {
+            int n = readToken();
+            return n == 0 ? null : new String(tok, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(char ch) {
+            if (ch < 0x80) {
+                write(ch);
+                return this;
+            }
+            return print(String.valueOf(ch));
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
 
         // Read 2 players for each team
         List<Player> team1 = new ArrayList<>();
@@ -41,12 +207,12 @@ public class FreeTurnsCalculator {
 
         // Input players for team 1
         for (int i = 0; i < 2; i++) {
-            team1.add(new Player(scanner.next(), scanner.nextInt()));
+            team1.add(new Player(in.nextToken(), in.nextInt()));
         }
 
         // Input players for team 2
         for (int i = 0; i < 2; i++) {
-            team2.add(new Player(scanner.next(), scanner.nextInt()));
+            team2.add(new Player(in.nextToken(), in.nextInt()));
         }
 
         // Sort players in each team by handicap in ascending order (stronger to weaker)
@@ -114,25 +280,24 @@ public class FreeTurnsCalculator {
             if (receiverName1.equals("High") && freeTurns1 == 12 && giverName1.equals("Lowest")) {
                 freeTurns1 = 13;
             }
-            System.out.println(receiverName1 + " receives " + freeTurns1
-                    + " free turn" + (freeTurns1 > 1 ? "s" : "")
-                    + " from " + giverName1 + ".");
+            out.print(receiverName1).print(" receives ").print(freeTurns1)
+                    .print(" free turn").print(freeTurns1 > 1 ? "s" : "")
+                    .print(" from ").print(giverName1).print('.').println();
         } else {
             // If no free turns, output the default format
-            System.out.println("No free turns between "
-                    + team2.get(1).name + " and " + team1.get(0).name + ".");
+            out.print("No free turns between ")
+                    .print(team2.get(1).name).print(" and ").print(team1.get(0).name).print('.').println();
         }
 
         // Output the result of comparison 2 (team2's stronger player vs. team1's weaker player)
         if (freeTurns2 > 0) {
-            System.out.println(receiverName2 + " receives " + freeTurns2
-                    + " free turn" + (freeTurns2 > 1 ? "s" : "")
-                    + " from " + giverName2 + ".");
+            out.print(receiverName2).print(" receives ").print(freeTurns2)
+                    .print(" free turn").print(freeTurns2 > 1 ? "s" : "")
+                    .print(" from ").print(giverName2).print('.').println();
         } else {
-            System.out.println("No free turns between "
-                    + team1.get(1).name + " and " + team2.get(0).name + ".");
+            out.print("No free turns between ")
+                    .print(team1.get(1).name).print(" and ").print(team2.get(0).name).print('.').println();
         }
-
-        scanner.close();
+        out.flush();
     }
 }
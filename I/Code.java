@@ -1,4 +1,16 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.stream.IntStream;
 
 // The problem is about dividing a map of altitudes into regions called drainage basins, where each basin represents areas that share the same lowest point where water would naturally flow.
 // For each cell on the map, water flows to its neighboring cell with the lowest altitude, and if there’s a tie, it follows a priority order.
@@ -8,119 +20,412 @@ import java.util.*;
 // The solution involves finding the sink for each cell, mapping sinks to unique labels, and assigning these labels to every cell based on their sink.
 public class Watershed {
 
-    // Class representing a cell in the map
-    static class Cell implements Comparable<Cell> {
-        int row, col;
+    // Direction vectors for North, West, East, South
+    static int[] dR = {-1, 0, 0, 1};
+    static int[] dC = {0, -1, 1, 0};
 
-        // Constructor to initialize row and column
-        Cell(int row, int col) {
-            this.row = row;
-            this.col = col;
-        }
+    // Check if a given cell is within map boundaries
+    static boolean isValid(int r, int c, int H, int W) {
+        return r >= 0 && r < H && c >= 0 && c < W;
+    }
 
-        // Overriding compareTo for ordering cells, used in maps or sets
-        @Override
-        public int compareTo(Cell other) {
-            if (this.row != other.row) {
-                return Integer.compare(this.row, other.row);
+    // Find the cell that water flows to from cell (r, c), or the cell itself if it is a sink
+    // Cells are addressed by their flat index row * W + col into the altitudes array
+    static int flowTarget(int r, int c, int[] altitudes, int H, int W) {
+        int minR = r, minC = c; // Start with current cell as the lowest point
+        for (int i = 0; i < 4; i++) { // Check all 4 neighboring directions
+            int nr = r + dR[i], nc = c + dC[i];
+            // Update the lowest point if a valid neighbor has a lower altitude
+            if (isValid(nr, nc, H, W) && altitudes[nr * W + nc] < altitudes[minR * W + minC]) {
+                minR = nr;
+                minC = nc;
             }
-            return Integer.compare(this.col, other.col);
         }
+        return minR * W + minC;
+    }
+
+    // Find the sink (lowest point) that water flows to for every cell
+    // Each downhill walk stops at the first cell whose sink is already known, and every cell on the walk
+    // is then given that sink, so every cell is visited only once in total
+    static int[] findSinks(int[] altitudes, int H, int W) {
+        int n = H * W;
+        int[] sinks = new int[n]; // Flat index of the sink for each cell, -1 while unknown
+        int[] path = new int[n];  // Cells of the current walk whose sink is not known yet
+        Arrays.fill(sinks, -1);
 
-        // Overriding equals to check cell equality based on row and column
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            Cell cell = (Cell) obj;
-            return row == cell.row && col == cell.col;
+        for (int start = 0; start < n; start++) {
+            if (sinks[start] != -1) continue; // Already resolved by an earlier walk
+
+            int len = 0, cell = start, sink;
+            while (true) {
+                path[len++] = cell;
+                int next = flowTarget(cell / W, cell % W, altitudes, H, W);
+                // If no lower point is found, this cell is the sink
+                if (next == cell) {
+                    sink = cell;
+                    break;
+                }
+                // Stop early when joining a path that has already been resolved
+                if (sinks[next] != -1) {
+                    sink = sinks[next];
+                    break;
+                }
+                cell = next; // Move to the new lowest point
+            }
+
+            // Every cell on the walk drains into the same sink
+            while (len > 0) {
+                sinks[path[--len]] = sink;
+            }
         }
+        return sinks;
+    }
+
+    // Maps with at least this many cells have their sinks resolved in parallel when more than one core is available
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    // Parallel variant of findSinks for large maps, producing exactly the same sinks
+    // The flow target of every cell is independent of the others, so row bands are computed concurrently
+    // Sinks are then resolved by pointer jumping: each round replaces every cell's pointer with the pointer
+    // of the cell it points to, doubling the distance covered, until every cell points at its sink
+    static int[] findSinksParallel(int[] altitudes, int H, int W) {
+        int[] sinks = new int[H * W];
+        IntStream.range(0, H).parallel().forEach(r -> {
+            for (int c = 0; c < W; c++) {
+                sinks[r * W + c] = flowTarget(r, c, altitudes, H, W);
+            }
+        });
 
-        // Overriding hashCode to allow this class to be used as a key in HashMaps
-        @Override
-        public int hashCode() {
-            return Objects.hash(row, col);
+        // Rounds read one buffer and write the other, so the result does not depend on the scheduling
+        int[] current = sinks, jumped = new int[H * W];
+        boolean changed = true;
+        while (changed) {
+            int[] from = current, to = jumped;
+            changed = IntStream.range(0, H).parallel().map(r -> {
+                int moved = 0;
+                for (int k = r * W; k < (r + 1) * W; k++) {
+                    to[k] = from[from[k]];
+                    if (to[k] != from[k]) moved = 1;
+                }
+                return moved;
+            }).sum() > 0;
+            jumped = current;
+            current = to;
         }
+        return current;
     }
 
-    // Direction vectors for North, West, East, South
-    static int[] dR = {-1, 0, 0, 1};
-    static int[] dC = {0, -1, 1, 0};
+    // Array of ints stored in a memory-mapped file rather than on the heap, for maps that do not fit in memory
+    // A single mapping is limited to 2 GiB, so the file is mapped in fixed-size segments
+    static class MappedInts {
+        static final int SEGMENT_BITS = 28; // 2^28 ints (1 GiB) per mapped segment
 
-    // Check if a given cell is within map boundaries
-    static boolean isValid(int r, int c, int H, int W) {
-        return r >= 0 && r < H && c >= 0 && c < W;
+        private final MappedByteBuffer[] segments;
+        private final long offset; // Byte position of element 0 in the file
+
+        MappedInts(FileChannel channel, FileChannel.MapMode mode, long offset, long length) throws IOException {
+            this.offset = offset;
+            segments = new MappedByteBuffer[(int) ((length + (1L << SEGMENT_BITS) - 1) >> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i << SEGMENT_BITS;
+                long count = Math.min(1L << SEGMENT_BITS, length - first);
+                segments[i] = channel.map(mode, offset + first * 4, count * 4);
+            }
+        }
+
+        int get(long index) {
+            return segments[(int) (index >>> SEGMENT_BITS)].getInt((int) (index & ((1 << SEGMENT_BITS) - 1)) << 2);
+        }
+
+        void set(long index, int value) {
+            segments[(int) (index >>> SEGMENT_BITS)].putInt((int) (index & ((1 << SEGMENT_BITS) - 1)) << 2, value);
+        }
     }
 
-    // Find the sink (lowest point) that water flows to for a given cell
-    static Cell findSink(int r, int c, int[][] altitudes) {
-        int H = altitudes.length;        // Number of rows (height of map)
-        int W = altitudes[0].length;     // Number of columns (width of map)
-
-        while (true) {
-            int minR = r, minC = c; // Start with current cell as the lowest point
-            for (int i = 0; i < 4; i++) { // Check all 4 neighboring directions
-                int nr = r + dR[i], nc = c + dC[i];
-                // Update the lowest point if a valid neighbor has a lower altitude
-                if (isValid(nr, nc, H, W) && altitudes[nr][nc] < altitudes[minR][minC]) {
+    // Out-of-core counterpart of flowTarget, reading the altitudes from a mapped file
+    static long flowTarget(int r, int c, MappedInts altitudes, int H, int W) {
+        int minR = r, minC = c;
+        int minAltitude = altitudes.get((long) r * W + c);
+        for (int i = 0; i < 4; i++) {
+            int nr = r + dR[i], nc = c + dC[i];
+            if (isValid(nr, nc, H, W)) {
+                int altitude = altitudes.get((long) nr * W + nc);
+                if (altitude < minAltitude) {
                     minR = nr;
                     minC = nc;
+                    minAltitude = altitude;
+                }
+            }
+        }
+        return (long) minR * W + minC;
+    }
+
+    // Print a basin label: letters count a..z, aa, ab, ... like spreadsheet columns, numbers count from 0
+    static void printLabel(FastOutput out, int label, boolean letters) {
+        if (!letters) {
+            out.print(label);
+            return;
+        }
+        if (label >= 26) printLabel(out, label / 26 - 1, true);
+        out.print((char) ('a' + label % 26));
+    }
+
+    // Label a map that does not fit in the heap, streaming the labels row by row
+    // The input file holds H and W followed by the H * W altitudes, all as big-endian 32-bit ints
+    // Sinks live in a mapped temporary file, so heap use stays bounded regardless of the map size
+    static void labelOutOfCore(Path file, boolean letters, FastOutput out) throws IOException {
+        try (FileChannel input = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel scratch = FileChannel.open(Files.createTempFile("watershed", ".sinks"),
+                     StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+            ByteBuffer header = input.map(FileChannel.MapMode.READ_ONLY, 0, 8);
+            int H = header.getInt(0);
+            int W = header.getInt(4);
+            long n = (long) H * W;
+            if (n > Integer.MAX_VALUE) throw new IllegalArgumentException("Map has more than 2^31 - 1 cells");
+
+            MappedInts altitudes = new MappedInts(input, FileChannel.MapMode.READ_ONLY, 8, n);
+            // sinks holds sink + 1 for every resolved cell and 0 for an unresolved one
+            // Once a basin has been labeled, its sink cell holds -(label + 1) instead
+            MappedInts sinks = new MappedInts(scratch, FileChannel.MapMode.READ_WRITE, 0, n);
+
+            // Resolve sinks without keeping the walk on the heap: walk down once to find the sink,
+            // then walk the same path again to record it, stopping at the first resolved cell
+            for (long start = 0; start < n; start++) {
+                if (sinks.get(start) != 0) continue;
+
+                long cell = start, sink;
+                while (true) {
+                    long next = flowTarget((int) (cell / W), (int) (cell % W), altitudes, H, W);
+                    if (next == cell) {
+                        sink = cell;
+                        break;
+                    }
+                    if (sinks.get(next) != 0) {
+                        sink = sinks.get(next) - 1;
+                        break;
+                    }
+                    cell = next;
+                }
+
+                for (cell = start; sinks.get(cell) == 0; ) {
+                    sinks.set(cell, (int) sink + 1);
+                    cell = flowTarget((int) (cell / W), (int) (cell % W), altitudes, H, W);
+                }
+            }
+
+            // Label basins in row-major first-seen order and stream the result
+            int labelCount = 0;
+            for (int i = 0; i < H; i++) {
+                for (int j = 0; j < W; j++) {
+                    long cell = (long) i * W + j;
+                    int value = sinks.get(cell);
+                    int label;
+                    if (value < 0) {
+                        label = -value - 1; // The cell is itself a labeled sink
+                    } else {
+                        long sink = value - 1;
+                        int sinkValue = sinks.get(sink);
+                        if (sinkValue > 0) {
+                            label = labelCount++;
+                            sinks.set(sink, -label - 1);
+                        } else {
+                            label = -sinkValue - 1;
+                        }
+                    }
+                    printLabel(out, label, letters);
+                    if (j < W - 1) out.print(' ');
                 }
+                out.println();
             }
-            // If no lower point is found, this cell is the sink
-            if (minR == r && minC == c) break;
-            // Move to the new lowest point
-            r = minR;
-            c = minC;
         }
-        return new Cell(r, c); // Return the sink cell
     }
 
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(char ch) {
+            if (ch < 0x80) {
+                write(ch);
+                return this;
+            }
+            return print(String.valueOf(ch));
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
+
+        // Out-of-core mode: java Code.java --mapped <binary map file> [letters|numbers]
+        if (args.length >= 2 && args[0].equals("--mapped")) {
+            labelOutOfCore(Path.of(args[1]), args.length < 3 || args[2].equals("letters"), out);
+            out.flush();
+            return;
+        }
 
         // Read map dimensions
-        int H = scanner.nextInt();
-        int W = scanner.nextInt();
+        int H = in.nextInt();
+        int W = in.nextInt();
 
-        // Initialize altitude matrix and basin labels
-        int[][] altitudes = new int[H][W];
-        char[][] labels = new char[H][W];
+        // Initialize altitude matrix and basin labels, both stored row by row in flat arrays
+        int[] altitudes = new int[H * W];
+        char[] labels = new char[H * W];
 
         // Read the altitudes of the map
-        for (int i = 0; i < H; i++) {
-            for (int j = 0; j < W; j++) {
-                altitudes[i][j] = scanner.nextInt();
-            }
+        for (int k = 0; k < H * W; k++) {
+            altitudes[k] = in.nextInt();
         }
 
-        // Map to store basins and their labels
-        Map<Cell, Character> basinMap = new HashMap<>();
+        // Find the sink of every cell, spreading large maps over all available cores
+        boolean parallel = H * W >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
+        int[] sinks = parallel ? findSinksParallel(altitudes, H, W) : findSinks(altitudes, H, W);
+
+        // Label of each basin, stored at its sink cell (0 means not labeled yet)
+        char[] basinLabel = new char[H * W];
         char label = 'a'; // Start with label 'a'
 
         // Iterate through each cell in the map
-        for (int i = 0; i < H; i++) {
-            for (int j = 0; j < W; j++) {
-                // Find the sink for the current cell
-                Cell sink = findSink(i, j, altitudes);
-                // Assign a new label if the sink is not already labeled
-                if (!basinMap.containsKey(sink)) {
-                    basinMap.put(sink, label++);
-                }
-                // Assign the label of the sink to the current cell
-                labels[i][j] = basinMap.get(sink);
+        for (int k = 0; k < H * W; k++) {
+            int sink = sinks[k];
+            // Assign a new label if the sink is not already labeled
+            if (basinLabel[sink] == 0) {
+                basinLabel[sink] = label++;
             }
+            // Assign the label of the sink to the current cell
+            labels[k] = basinLabel[sink];
         }
 
         // Output the basin labels row by row
         for (int i = 0; i < H; i++) {
             for (int j = 0; j < W; j++) {
-                System.out.print(labels[i][j]);
-                if (j < W - 1) System.out.print(" "); // Space between labels in the same row
+                out.print(labels[i * W + j]);
+                if (j < W - 1) out.print(' '); // Space between labels in the same row
             }
-            System.out.println(); // Move to the next row
+            out.println(); // Move to the next row
         }
-
-        scanner.close();
+        out.flush();
     }
 }
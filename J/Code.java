@@ -1,4 +1,14 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 // The problem revolves around evaluating mathematical expressions in a unique format called Snaggle.
 // Each expression can either be a single number or a compound expression of the form (p e1 e2), where p is a probability between 0 and 1, and e1 and e2 are either numbers or nested expressions.
@@ -17,79 +27,465 @@ public class SnaggleExpression {
 
     // Method to evaluate a Snaggle expression
     public static double evaluate(String input) {
-        // Base case: if the input does not contain parentheses, it is a simple number
-        if(!input.contains("(") && !input.contains(")")){
-            return Double.parseDouble(input); // Parse and return the number directly
-        }
+        byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+        return new Evaluator().evaluate(bytes, 0, bytes.length);
+    }
+
+    // Single-pass evaluator that scans the raw bytes of an expression once
+    // Opening parentheses carry no information, numbers are parsed in place and pushed on a primitive stack,
+    // and every closing parenthesis replaces the top three values (p e1 e2) by their expected value
+    // Nothing is allocated per token, and the stack grows as needed, so nesting depth is not limited by recursion
+    static class Evaluator {
+        private double[] stack = new double[64]; // Intermediate values, reused across expressions
 
-        Stack<Double> values = new Stack<>(); // Stack to hold intermediate values
-        String[] expressions = input.split("\\s+"); // Split input into tokens by spaces
+        double evaluate(byte[] s, int from, int to) {
+            int size = 0;
+            int i = from;
+            while (i < to) {
+                int ch = s[i];
+                // Skip whitespace and opening parentheses
+                if (ch <= ' ' || ch == '(') {
+                    i++;
+                    continue;
+                }
+
+                // Process closing parentheses: pop e2, e1 and p and push the expected value
+                if (ch == ')') {
+                    if (size < 3) throw new IllegalArgumentException("Unbalanced expression");
+                    size -= 2;
+                    stack[size - 1] = calculate(stack[size + 1], stack[size], stack[size - 1]);
+                    i++;
+                    continue;
+                }
 
-        for (String expression : expressions) {
-            // Skip opening parentheses
-            if (expression.equals("(")){
-                continue;
+                // Handle numbers, which end at whitespace or a parenthesis
+                int end = i;
+                while (end < to && s[end] > ' ' && s[end] != '(' && s[end] != ')') {
+                    end++;
+                }
+                if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                stack[size++] = parseNumber(s, i, end);
+                i = end;
             }
 
-            // Handle expressions that start with an opening parenthesis
-            if (expression.charAt(0) == '(') {
-                double value = Double.parseDouble(expression.replace("(", ""));
-                values.push(value); // Push the value to the stack
-                continue;
+            // The result of the expression is the final value on the stack
+            if (size == 0) throw new NumberFormatException("Empty expression");
+            return stack[size - 1];
+        }
+    }
+
+    // Snaggle expression compiled into a flat postfix program, for evaluating the same shape many times
+    // A program reuses its stack storage between runs, so each thread needs its own copy
+    // Every number in the expression, probabilities and leaves alike, becomes a parameter slot numbered in
+    // order of appearance, so the program can be re-run with different numbers without parsing the text again
+    static class Program {
+        static final byte LOAD = 0;    // Push the next parameter
+        static final byte COMBINE = 1; // Replace p, e1 and e2 on top of the stack by calculate(e2, e1, p)
+
+        final double[] defaults; // The numbers written in the source expression, one per parameter slot
+        private final byte[] code;
+        private final int depth; // Largest stack size reached while running the program
+        private double[] registers = new double[0]; // Stack storage reused between runs
+
+        private Program(byte[] code, double[] defaults, int depth) {
+            this.code = code;
+            this.defaults = defaults;
+            this.depth = depth;
+        }
+
+        // Compile the expression in s[from, to), using the same tokenizing rules as Evaluator
+        static Program compile(byte[] s, int from, int to) {
+            byte[] code = new byte[16];
+            double[] numbers = new double[8];
+            int length = 0, count = 0, size = 0, depth = 0;
+            int i = from;
+            while (i < to) {
+                int ch = s[i];
+                if (ch <= ' ' || ch == '(') {
+                    i++;
+                    continue;
+                }
+                if (length == code.length) code = Arrays.copyOf(code, length * 2);
+                if (ch == ')') {
+                    if (size < 3) throw new IllegalArgumentException("Unbalanced expression");
+                    size -= 2;
+                    code[length++] = COMBINE;
+                    i++;
+                    continue;
+                }
+                int end = i;
+                while (end < to && s[end] > ' ' && s[end] != '(' && s[end] != ')') {
+                    end++;
+                }
+                if (count == numbers.length) numbers = Arrays.copyOf(numbers, count * 2);
+                numbers[count++] = parseNumber(s, i, end);
+                code[length++] = LOAD;
+                depth = Math.max(depth, ++size);
+                i = end;
             }
+            if (size == 0) throw new NumberFormatException("Empty expression");
+            return new Program(Arrays.copyOf(code, length), Arrays.copyOf(numbers, count), depth);
+        }
+
+        static Program compile(String input) {
+            byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+            return compile(bytes, 0, bytes.length);
+        }
+
+        // Number of parameter slots the program reads
+        int parameters() {
+            return defaults.length;
+        }
+
+        // Evaluate with the numbers written in the source expression
+        double evaluate() {
+            return evaluate(defaults);
+        }
 
-            // Process closing parentheses
-            if (expression.equals(")")){
-                // Pop the last three values and calculate the result
-                values.push(calculate(values.pop(), values.pop(), values.pop()));
-                continue;
+        // Evaluate with params[k] in place of the k-th number of the expression
+        double evaluate(double[] params) {
+            if (registers.length < depth) registers = new double[depth];
+            double[] stack = registers;
+            int size = 0, next = 0;
+            for (byte op : code) {
+                if (op == LOAD) {
+                    stack[size++] = params[next++];
+                } else {
+                    size -= 2;
+                    stack[size - 1] = calculate(stack[size + 1], stack[size], stack[size - 1]);
+                }
             }
+            return stack[size - 1];
+        }
 
-            // Handle expressions containing multiple closing parentheses
-            if (expression.contains(")")){
-                int count = 0; // Count the number of closing parentheses
-                for (int i = 0; i < expression.length(); i++) {
-                    if (expression.charAt(i) == ')') {
-                        count++;
+        // Evaluate a batch of count parameter vectors at once, writing one result per vector to results
+        // params is laid out by slot: params[k * count + v] is slot k of vector v
+        // Each instruction is applied to the whole batch before the next, so the inner loops run over plain
+        // contiguous arrays and can be vectorized by the JIT
+        void evaluateBatch(double[] params, int count, double[] results) {
+            if (registers.length < depth * count) registers = new double[depth * count];
+            double[] stack = registers;
+            int size = 0, next = 0;
+            for (byte op : code) {
+                if (op == LOAD) {
+                    System.arraycopy(params, next++ * count, stack, size++ * count, count);
+                } else {
+                    size -= 2;
+                    int p = (size - 1) * count, e1 = size * count, e2 = (size + 1) * count;
+                    for (int v = 0; v < count; v++) {
+                        stack[p + v] = calculate(stack[e2 + v], stack[e1 + v], stack[p + v]);
                     }
                 }
+            }
+            System.arraycopy(stack, (size - 1) * count, results, 0, count);
+        }
+    }
+
+    // Powers of ten that are exactly representable as doubles, used for correctly rounded decimal parsing
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Parse the decimal number in s[from, to) with the same result as Double.parseDouble
+    static double parseNumber(byte[] s, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s[i] == '-' || s[i] == '+')) {
+            negative = s[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0, fraction = 0;
+        boolean dot = false, simple = true;
+        for (; i < to && simple; i++) {
+            int ch = s[i];
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + (ch - '0');
+                digits++;
+                if (dot) fraction++;
+                simple = digits <= 18;
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                simple = false; // Exponents and other forms are left to Double.parseDouble
+            }
+        }
+        // Both operands are exact, so one division gives the same correctly rounded result as Double.parseDouble
+        if (simple && digits > 0 && mantissa < (1L << 53) && fraction < POW10.length) {
+            double value = mantissa / POW10[fraction];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(s, from, to - from, StandardCharsets.ISO_8859_1));
+    }
 
-                double value = Double.parseDouble(expression.replace(")", "")); // Extract the number
-                values.push(calculate(value, values.pop(), values.pop())); // Calculate the inner expression
-                for (int i = 0; i < count - 1; i++) {
-                    // Process remaining nested expressions
-                    values.push(calculate(values.pop(), values.pop(), values.pop()));
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Lines are handed out as raw bytes from a reusable buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
                 }
-                continue;
             }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
+        }
 
-            // Handle simple numbers and push them to the stack
-            double value = Double.parseDouble(expression);
-            values.push(value);
+        // Read the rest of the current line without its terminator into the buffer returned by line()
+        // Return its length, or -1 at the end of the input
+        int readLine() {
+            int ch = peek();
+            if (ch == -1) return -1;
+            int n = 0;
+            while (ch != -1 && ch != '\n') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
+            }
+            if (ch == '\n') ptr++;
+            if (n > 0 && tok[n - 1] == '\r') n--;
+            return n;
         }
 
-        // The result of the expression is the final value on the stack
-        return values.pop();
+        // The bytes of the line last read by readLine, valid until the next read
+        byte[] line() {
+            return tok;
+        }
     }
 
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        List<String> expressions = new ArrayList<>(); // List to store input expressions
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
 
-        // Read input lines until a line containing "()" is encountered
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            if (line.equals("()")) {
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        // Append raw bytes, e.g. output that was formatted elsewhere
+        FastOutput write(byte[] bytes) {
+            for (int off = 0, n; off < bytes.length; off += n, pos += n) {
+                if (pos == buf.length) drain();
+                n = Math.min(bytes.length - off, buf.length - pos);
+                System.arraycopy(bytes, off, buf, pos, n);
+            }
+            return this;
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        // Print a non-negative value at least the given number of digits wide, padded with leading zeros
+        FastOutput printPadded(long value, int width) {
+            for (long limit = 10; width > 1; width--, limit *= 10) {
+                if (value < limit) write('0');
+            }
+            return print(value);
+        }
+
+        // Print an amount of cents as dollars with two decimals, e.g. 350 as 3.50
+        FastOutput printCents(long cents) {
+            if (cents < 0) {
+                write('-');
+                cents = -cents;
+            }
+            print(cents / 100).write('.');
+            return printPadded(cents % 100, 2);
+        }
+
+        // Print a value with two decimals exactly as String.format("%.2f", value) would
+        FastOutput printFixed2(double value) {
+            double scaled = Math.abs(value) * 100;
+            double floor = Math.floor(scaled);
+            // Plain rounding only differs from %.2f near a tie, where %.2f rounds the shortest decimal representation
+            // half-up
+            // Below 1e12 the scaling error is far smaller than the 1e-3 margin, so the rounding is unambiguous
+            if (scaled < 1e12 && Math.abs(scaled - floor - 0.5) > 1e-3) {
+                if (Double.doubleToRawLongBits(value) < 0) write('-'); // %.2f keeps the sign of -0.00
+                return printCents((long) floor + (scaled - floor > 0.5 ? 1 : 0));
+            }
+            return print(String.format("%.2f", value));
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Most lines and bytes handed to a worker at a time in the parallel pipeline
+    static final int CHUNK_LINES = 8192;
+    static final int CHUNK_BYTES = 1 << 20;
+
+    // Check whether a line is the "()" terminator
+    static boolean isTerminator(byte[] line, int length) {
+        return length == 2 && line[0] == '(' && line[1] == ')';
+    }
+
+    // Evaluate input lines one by one straight from the read buffer until a line containing "()" is encountered
+    static void evaluateSequential(FastInput in, FastOutput out) {
+        Evaluator evaluator = new Evaluator(); // Reused for every expression
+        int length;
+        while ((length = in.readLine()) >= 0) {
+            byte[] line = in.line();
+            if (isTerminator(line, length)) {
                 break; // Stop processing if termination line is reached
             }
-            expressions.add(line); // Add valid expressions to the list
+            out.printFixed2(evaluator.evaluate(line, 0, length)).println(); // Format the result to 2 decimal places
+        }
+    }
+
+    // Evaluate input lines on a pool of worker threads while keeping the output in input order
+    // The reader slices the input into chunks of lines and submits each chunk as one task, and the formatted
+    // results of each chunk are written in submission order. At most 2 * threads chunks are in flight, so memory
+    // stays bounded no matter how long the input is
+    static void evaluateParallel(FastInput in, FastOutput out, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<Evaluator> evaluators = ThreadLocal.withInitial(Evaluator::new);
+        ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>(); // Chunks in flight, oldest first
+        try {
+            boolean done = false;
+            while (!done) {
+                // Copy up to CHUNK_LINES lines, or about CHUNK_BYTES bytes, into a chunk owned by the task
+                byte[] data = new byte[1 << 16];
+                int[] ends = new int[CHUNK_LINES]; // End offset of each line within data
+                int lines = 0, size = 0, length;
+                while (lines < CHUNK_LINES && size < CHUNK_BYTES) {
+                    if ((length = in.readLine()) < 0 || isTerminator(in.line(), length)) {
+                        done = true; // End of input or termination line reached
+                        break;
+                    }
+                    if (size + length > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+                    System.arraycopy(in.line(), 0, data, size, length);
+                    size += length;
+                    ends[lines++] = size;
+                }
+                if (lines == 0) break;
+
+                byte[] chunk = data;
+                int count = lines;
+                pending.add(pool.submit(() -> {
+                    Evaluator evaluator = evaluators.get();
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream(count * 8);
+                    FastOutput results = new FastOutput(buffer);
+                    for (int k = 0, start = 0; k < count; start = ends[k++]) {
+                        results.printFixed2(evaluator.evaluate(chunk, start, ends[k])).println();
+                    }
+                    results.flush();
+                    return buffer.toByteArray();
+                }));
+
+                // Write finished chunks in order once enough work is queued
+                while (pending.size() >= 2 * threads) {
+                    writeChunk(pending.poll(), out);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeChunk(pending.poll(), out);
+            }
+        } finally {
+            pool.shutdownNow();
         }
+    }
 
-        // Evaluate and print the result for each expression
-        for (String expr : expressions) {
-            System.out.printf("%.2f\n", evaluate(expr)); // Format the result to 2 decimal places
+    // Wait for a chunk's results and copy them to the output
+    static void writeChunk(Future<byte[]> chunk, FastOutput out) {
+        try {
+            out.write(chunk.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
+    }
 
-        scanner.close(); // Close the scanner
+    public static void main(String[] args) {
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
+
+        // Spread the expressions over all available cores when there is more than one
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (threads > 1) {
+            evaluateParallel(in, out, threads);
+        } else {
+            evaluateSequential(in, out);
+        }
+        out.flush();
     }
 }
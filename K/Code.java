@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 // The problem is about identifying microspikes in power usage during a simulation.
@@ -8,18 +13,577 @@ import java.util.*;
 // Once we know the power levels for each second, we look for periods where the power goes above the threshold, stays above for a valid duration, and then drops back to or below the threshold.
 // The goal is to count how many such periods (microspikes) occur during the simulation.
 public class Main {
+    // Sort n events by time with an LSD radix sort on the non-negative times, moving each power change along
+    // with its time; only as many 16-bit digits as the largest time needs are processed
+    static void sortByTime(long[] times, long[] powers, int n) {
+        long max = 0;
+        for (int i = 0; i < n; i++) max = Math.max(max, times[i]);
+
+        long[] timeBuffer = new long[n], powerBuffer = new long[n];
+        int[] count = new int[1 << 16];
+        for (int shift = 0; shift < 64 && (max >>> shift) != 0; shift += 16) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) count[(int) (times[i] >>> shift) & 0xFFFF]++;
+            for (int d = 0, sum = 0; d < count.length; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int at = count[(int) (times[i] >>> shift) & 0xFFFF]++;
+                timeBuffer[at] = times[i];
+                powerBuffer[at] = powers[i];
+            }
+            System.arraycopy(timeBuffer, 0, times, 0, n);
+            System.arraycopy(powerBuffer, 0, powers, 0, n);
+        }
+    }
+
+    // Count the microspikes in a list of power changes sorted by time
+    // The total power only changes at event times, so only those boundaries are visited, plus time 0 where the
+    // simulation starts; the cost depends on the number of events, not on the simulation length
+    static long countSpikes(long[] times, long[] powers, int n, long M, long S) {
+        long spikes = 0; // Counter for microspikes
+        long power = 0; // Total power since the current boundary
+        long start = -1; // Start time of a potential spike
+        boolean overThreshold = false; // Flag to track if the power is above the threshold
+
+        long time = 0;
+        int i = 0;
+        while (true) {
+            // Apply every change that happens at this time
+            while (i < n && times[i] == time) {
+                power += powers[i++];
+            }
+
+            // Check if power exceeds the threshold and was not already in a spike
+            if (power > M && !overThreshold) {
+                start = time; // Record the start time of the spike
+                overThreshold = true; // Mark that the power is above the threshold
+            }
+            // Check if power falls back to the threshold or below after exceeding it
+            else if (power <= M && overThreshold) {
+                // Boundaries are distinct times, so the spike always lasts at least 1 second
+                if (time - start <= S) {
+                    spikes++; // Increment the spike counter
+                }
+                overThreshold = false; // Reset the threshold flag
+            }
+
+            if (i == n) break;
+            time = times[i]; // Jump to the next boundary
+        }
+        return spikes;
+    }
+
+    // Return the permutation that sorts the first n keys in ascending order, using a stable LSD radix sort on
+    // 16-bit digits with the sign bit flipped so negative keys come first
+    static int[] sortOrder(long[] keys, int n) {
+        int[] order = new int[n], buffer = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        int[] count = new int[1 << 16];
+        for (int shift = 0; shift < 64; shift += 16) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) count[digit(keys[i], shift)]++;
+            for (int d = 0, sum = 0; d < count.length; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) buffer[count[digit(keys[order[i]], shift)]++] = order[i];
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & 0xFFFF;
+    }
+
+    // Answers many "how many spikes above M lasting at most S" queries over one power timeline
+    // The timeline is the piecewise-constant power between consecutive event times. For a threshold M the spikes
+    // are the maximal runs of segments above M that are followed by a segment at or below M. Each such run is
+    // a subtree of the min-Cartesian tree of segment levels: a run whose lowest segment has level hi and whose
+    // bounding segments reach at most lo is a spike exactly for lo <= M < hi. So there are fewer candidate
+    // spikes than segments, whatever M is, and a batch of queries is answered by sweeping M upwards while a
+    // Fenwick tree over the candidate durations counts the active candidates lasting at most S
+    static class SpikeIndex {
+        private final int candidates;
+        private final long[] lo, hi;      // Candidate k is a spike for lo[k] <= M < hi[k]
+        private final long[] duration;    // Duration of candidate k in seconds
+        private final long[] durations;   // All candidate durations in ascending order
+        private final int[] byLo, byHi;   // Candidates ordered by lo and by hi
+
+        // Build the index from n power changes sorted by time
+        SpikeIndex(long[] times, long[] powers, int n) {
+            // Segment boundaries: time 0 and every distinct event time, with the power level from there on
+            long[] start = new long[n + 1], level = new long[n + 1];
+            int m = 1;
+            long power = 0;
+            for (int i = 0; i < n; i++) {
+                if (times[i] != start[m - 1]) {
+                    start[m] = times[i];
+                    level[m] = level[m - 1];
+                    m++;
+                }
+                power += powers[i];
+                level[m - 1] = power;
+            }
+
+            // Nearest segment to the left with a level at most as high, and to the right with a lower level
+            int[] left = new int[m], right = new int[m], stack = new int[m];
+            int top = 0;
+            for (int x = 0; x < m; x++) {
+                while (top > 0 && level[stack[top - 1]] > level[x]) top--;
+                left[x] = top == 0 ? -1 : stack[top - 1];
+                stack[top++] = x;
+            }
+            top = 0;
+            for (int x = m - 1; x >= 0; x--) {
+                while (top > 0 && level[stack[top - 1]] >= level[x]) top--;
+                right[x] = top == 0 ? m : stack[top - 1];
+                stack[top++] = x;
+            }
+
+            // Segment x is the first lowest segment of the run between its bounds; runs that reach the
+            // last segment never drop back down and cannot be spikes
+            lo = new long[m];
+            hi = new long[m];
+            duration = new long[m];
+            int k = 0;
+            for (int x = 0; x < m; x++) {
+                if (right[x] == m) continue;
+                long bound = left[x] < 0 ? level[right[x]] : Math.max(level[left[x]], level[right[x]]);
+                if (bound >= level[x]) continue;
+                lo[k] = bound;
+                hi[k] = level[x];
+                duration[k] = start[right[x]] - start[left[x] + 1];
+                k++;
+            }
+            candidates = k;
+            durations = Arrays.copyOf(duration, k);
+            Arrays.sort(durations);
+            byLo = sortOrder(lo, k);
+            byHi = sortOrder(hi, k);
+        }
+
+        // Number of spikes above thresholds[q] lasting at most maxDurations[q], for every query q
+        long[] count(long[] thresholds, long[] maxDurations) {
+            int q = thresholds.length;
+            long[] answers = new long[q];
+            int[] byThreshold = sortOrder(thresholds, q);
+            int[] tree = new int[candidates + 1]; // Fenwick tree over duration ranks
+
+            int opened = 0, closed = 0;
+            for (int i = 0; i < q; i++) {
+                int query = byThreshold[i];
+                long M = thresholds[query];
+                // Activate candidates whose range starts at or below M, then drop those that end at or below M
+                for (; opened < candidates && lo[byLo[opened]] <= M; opened++) {
+                    for (int r = rank(duration[byLo[opened]]); r <= candidates; r += r & -r) tree[r]++;
+                }
+                for (; closed < candidates && hi[byHi[closed]] <= M; closed++) {
+                    for (int r = rank(duration[byHi[closed]]); r <= candidates; r += r & -r) tree[r]--;
+                }
+                // Count the active candidates lasting at most S
+                long total = 0;
+                for (int r = upperBound(maxDurations[query]); r > 0; r -= r & -r) total += tree[r];
+                answers[query] = total;
+            }
+            return answers;
+        }
+
+        // 1-based Fenwick position of a duration: one past the number of smaller durations
+        private int rank(long value) {
+            return lowerBound(value) + 1;
+        }
+
+        // Number of durations less than value
+        private int lowerBound(long value) {
+            int low = 0, high = candidates;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (durations[mid] < value) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        // Number of durations at most value
+        private int upperBound(long value) {
+            return value == Long.MAX_VALUE ? candidates : lowerBound(value + 1);
+        }
+    }
+
+    // Open-addressing map from int keys to long values, used instead of HashMap<Integer, Long> for the
+    // per-appliance times: keys and values sit in two primitive arrays probed linearly, so nothing is boxed
+    static class IntLongMap {
+        private int[] keys = new int[16];     // 0 marks a free slot; key 0 itself is stored separately
+        private long[] values = new long[16];
+        private int size = 0;                 // Number of keys in the arrays
+        private boolean hasZeroKey = false;
+        private long zeroValue;
+
+        // Home slot of a key, spreading consecutive ids across the table
+        private int slot(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (keys.length - 1);
+        }
+
+        long getOrDefault(int key, long defaultValue) {
+            if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+            for (int i = slot(key); ; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) return values[i];
+                if (keys[i] == 0) return defaultValue;
+            }
+        }
+
+        void put(int key, long value) {
+            if (key == 0) {
+                hasZeroKey = true;
+                zeroValue = value;
+                return;
+            }
+            int i = slot(key);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            values[i] = value;
+            if (keys[i] == 0) {
+                keys[i] = key;
+                // Keep the table at most half full so probe sequences stay short
+                if (++size * 2 > keys.length) grow();
+            }
+        }
+
+        int size() {
+            return size + (hasZeroKey ? 1 : 0);
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == 0) continue;
+                int i = slot(oldKeys[j]);
+                while (keys[i] != 0) {
+                    i = (i + 1) & (keys.length - 1);
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    // Receives each microspike as soon as it is known to have closed
+    interface SpikeListener {
+        void onSpike(long start, long end);
+    }
+
+    // Online microspike detector for power changes that arrive as a live stream
+    // Records from different appliances may arrive out of time order, so changes wait in a bounded reorder window
+    // (a min-heap on time) until advanceTo promises nothing earlier is coming, or until the window overflows
+    // A boundary is only checked against the threshold once it is known that no more changes share its time
+    // A boundary that has been checked is never reopened: a change older than the open boundary, or older than
+    // the time advanceTo settled up to, is applied at the open boundary instead and counted as late
+    // Memory is O(appliances + window): no per-second state and no history of past boundaries is kept
+    static class SpikeMonitor {
+        private final long threshold;   // Power threshold M
+        private final long maxDuration; // Maximum spike duration S
+        private final long horizon;     // Changes after this time are ignored
+        private final int window;       // Most changes held back for reordering
+        private final SpikeListener listener;
+        private final IntLongMap lastTime = new IntLongMap(); // Last change time of each appliance
+
+        // Reorder window: binary min-heap of pending changes keyed by absolute time
+        private long[] heapTimes = new long[16];
+        private long[] heapPowers = new long[16];
+        private int heapSize = 0;
+
+        private long boundary = 0;       // Time of the boundary whose changes are still being collected
+        private long settled = 0;        // Watermark: every change before this time has been applied
+        private long power = 0;          // Total power from that boundary on
+        private long start = -1;         // Start time of the open spike
+        private boolean overThreshold = false;
+        private long spikes = 0;
+        private long lateChanges = 0;    // Changes that arrived after their time had been settled
+
+        SpikeMonitor(long threshold, long maxDuration, long horizon, int window, SpikeListener listener) {
+            this.threshold = threshold;
+            this.maxDuration = maxDuration;
+            this.horizon = horizon;
+            this.window = window;
+            this.listener = listener;
+        }
+
+        // Record that the appliance's power changed by deltaP, deltaT seconds after its previous change
+        void onEvent(int appliance, long deltaT, long deltaP) {
+            long time = lastTime.getOrDefault(appliance, 0) + deltaT;
+            lastTime.put(appliance, time);
+            if (time > horizon) return;
+            push(time, deltaP);
+            // Settle the earliest change once the window is full, trusting that nothing earlier is still on the way
+            while (heapSize > window) {
+                apply(heapTimes[0], heapPowers[0]);
+                pop();
+            }
+        }
+
+        // Promise that no change before the given time will arrive, settling everything up to it
+        // The boundaries before it are checked, and the next open boundary is the given time itself
+        void advanceTo(long time) {
+            while (heapSize > 0 && heapTimes[0] < time) {
+                apply(heapTimes[0], heapPowers[0]);
+                pop();
+            }
+            if (time <= settled) return;
+            settled = time;
+            if (boundary < time) {
+                close();
+                boundary = time;
+            }
+        }
+
+        // Number of microspikes that have closed so far
+        long spikeCount() {
+            return spikes;
+        }
+
+        // Number of changes that arrived after their time had been settled and were applied at the open boundary
+        long lateChanges() {
+            return lateChanges;
+        }
+
+        // Apply a change in time order, checking the previous boundary once the time moves past it
+        private void apply(long time, long deltaP) {
+            if (time < settled || time < boundary) {
+                lateChanges++; // Its own boundary is already checked, so the change lands on the open one
+            } else if (time > boundary) {
+                close();
+                boundary = time;
+            }
+            power += deltaP;
+        }
+
+        // Check the collected boundary against the threshold, with the same rules as countSpikes
+        private void close() {
+            if (power > threshold && !overThreshold) {
+                start = boundary;
+                overThreshold = true;
+            } else if (power <= threshold && overThreshold) {
+                if (boundary - start <= maxDuration) {
+                    spikes++;
+                    listener.onSpike(start, boundary);
+                }
+                overThreshold = false;
+            }
+        }
+
+        private void push(long time, long deltaP) {
+            if (heapSize == heapTimes.length) {
+                heapTimes = Arrays.copyOf(heapTimes, heapSize * 2);
+                heapPowers = Arrays.copyOf(heapPowers, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0 && heapTimes[(i - 1) / 2] > time) {
+                heapTimes[i] = heapTimes[(i - 1) / 2];
+                heapPowers[i] = heapPowers[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            heapTimes[i] = time;
+            heapPowers[i] = deltaP;
+        }
+
+        private void pop() {
+            long time = heapTimes[--heapSize];
+            long deltaP = heapPowers[heapSize];
+            int i = 0;
+            while (2 * i + 1 < heapSize) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && heapTimes[child + 1] < heapTimes[child]) child++;
+                if (heapTimes[child] >= time) break;
+                heapTimes[i] = heapTimes[child];
+                heapPowers[i] = heapPowers[child];
+                i = child;
+            }
+            heapTimes[i] = time;
+            heapPowers[i] = deltaP;
+        }
+    }
+
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(char ch) {
+            if (ch < 0x80) {
+                write(ch);
+                return this;
+            }
+            return print(String.valueOf(ch));
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static void main(String[] args) {
-        Scanner in = new Scanner(System.in);
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
 
         // Read the basic input parameters
         long T = in.nextLong(); // Total simulation time in seconds
         long M = in.nextLong(); // Power threshold for microspikes
         long S = in.nextLong(); // Maximum duration for microspikes
 
-        // Initialize the difference array to record power changes over time
-        long[] diff = new long[(int) T + 1];
+        if (args.length > 0 && args[0].equals("--stream")) {
+            // Feed the records to the online detector in arrival order, printing each spike as it closes
+            // An optional second argument sets the reorder window; records later than it are counted as late
+            int window = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 16;
+            SpikeMonitor monitor = new SpikeMonitor(M, S, T, window, (start, end) -> out.print(start).print(' ').print(end).println());
+            while (true) {
+                int a = in.nextInt();
+                long t = in.nextLong();
+                long p = in.nextLong();
+                if (a == 0 && t == 0 && p == 0) break;
+                monitor.onEvent(a, t, p);
+            }
+            monitor.advanceTo(T + 1); // Settle every boundary up to and including T
+            out.print(monitor.spikeCount()).println();
+            if (monitor.lateChanges() > 0) System.err.println(monitor.lateChanges() + " late changes");
+            out.flush();
+            return;
+        }
+
+        // Power change events within the simulation period, as parallel arrays of absolute time and change
+        long[] times = new long[1 << 10];
+        long[] powers = new long[1 << 10];
+        int events = 0;
         // Map to store the last recorded time for each appliance
-        Map<Integer, Long> lastTime = new HashMap<>();
+        IntLongMap lastTime = new IntLongMap();
 
         // Read appliance records until the end marker is encountered
         while (true) {
@@ -31,45 +595,45 @@ public class Main {
             if (a == 0 && t == 0 && p == 0) break;
 
             // Calculate the absolute time for this appliance's event
-            long time = lastTime.getOrDefault(a, 0L) + t;
+            long time = lastTime.getOrDefault(a, 0) + t;
 
-            // Update the difference array if the time is within the simulation period
-            if (time <= T) diff[(int) time] += p;
+            // Record the event if the time is within the simulation period
+            if (time <= T) {
+                if (events == times.length) {
+                    times = Arrays.copyOf(times, events * 2);
+                    powers = Arrays.copyOf(powers, events * 2);
+                }
+                times[events] = time;
+                powers[events] = p;
+                events++;
+            }
 
             // Record the updated time for this appliance
             lastTime.put(a, time);
         }
 
-        // Compute the prefix sum to determine actual power levels at each time
-        long[] power = new long[(int) T + 1];
-        power[0] = diff[0];
-        for (int i = 1; i <= T; i++) {
-            power[i] = power[i - 1] + diff[i];
-        }
-
-        // Identify and count microspikes
-        int spikes = 0; // Counter for microspikes
-        long start = -1; // Start time of a potential spike
-        boolean overThreshold = false; // Flag to track if the power is above the threshold
+        // Order the events by time and sweep over them to count microspikes
+        sortByTime(times, powers, events);
 
-        for (int i = 0; i <= T; i++) {
-            // Check if power exceeds the threshold and was not already in a spike
-            if (power[i] > M && !overThreshold) {
-                start = i; // Record the start time of the spike
-                overThreshold = true; // Mark that the power is above the threshold
+        if (args.length > 0 && args[0].equals("--queries")) {
+            // After the end marker comes a query count and that many "M S" pairs, answered in one batch
+            int q = in.nextInt();
+            long[] thresholds = new long[q], maxDurations = new long[q];
+            for (int i = 0; i < q; i++) {
+                thresholds[i] = in.nextLong();
+                maxDurations[i] = in.nextLong();
             }
-            // Check if power falls back to the threshold or below after exceeding it
-            else if (power[i] <= M && overThreshold) {
-                // Calculate the spike duration and check if it meets the criteria
-                if (i - start >= 1 && i - start <= S) {
-                    spikes++; // Increment the spike counter
-                }
-                overThreshold = false; // Reset the threshold flag
+            for (long answer : new SpikeIndex(times, powers, events).count(thresholds, maxDurations)) {
+                out.print(answer).println();
             }
+            out.flush();
+            return;
         }
 
+        long spikes = countSpikes(times, powers, events, M, S);
+
         // Output the total number of microspikes observed
-        System.out.println(spikes);
-        in.close(); // Close the scanner to release resources
+        out.print(spikes).println();
+        out.flush();
     }
 }
@@ -1,42 +1,59 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 // The goal is to help a pedestrian find the fastest way to cross a grid-based city from one corner to the opposite.
 // Each intersection has traffic lights with alternating cycles for north-south and east-west directions.
 // The pedestrian can cross a street in 1 minute if the light is green or walk along the edge of a block in 2 minutes.
 // To solve the problem, we calculate the time it takes to move through each point in the grid, considering the traffic light cycles at each intersection.
-// Starting from the southwest corner, we explore all possible movements using a queue, always updating the shortest time to reach each point.
+// Starting from the southwest corner, we settle points in order of their earliest arrival time using a priority queue, as in Dijkstra's algorithm.
 // By carefully accounting for light timings and waiting if necessary, we eventually determine the minimum time needed to reach the northeast corner.
 public class GridPathSolver {
 
-    // Class representing a point in the grid
-    static class Point {
-        int x, y;
-
-        Point(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
-
-    // Constants and movement directions
-    static final int MAX_GRID_SIZE = 20; // Maximum grid size
+    // Movement directions
     static final int[] DX = {1, -1, 0, 0}; // Movement directions along x-axis
     static final int[] DY = {0, 0, 1, -1}; // Movement directions along y-axis
 
-    // Traffic signal data
-    static int[][] greenTime = new int[MAX_GRID_SIZE][MAX_GRID_SIZE]; // Green light duration for north-south direction
-    static int[][] redTime = new int[MAX_GRID_SIZE][MAX_GRID_SIZE];   // Green light duration for east-west direction
-    static int[][] cycleStart = new int[MAX_GRID_SIZE][MAX_GRID_SIZE]; // Signal cycle start time
+    // Grid dimensions, sized from the input
+    final int rows, cols; // Intersections per column and per row
+    final int width;      // Points per row of the doubled grid, two per intersection
+
+    // Traffic signal data, packed as three ints per intersection in row-major order:
+    // north-south green duration, east-west green duration and cycle start time
+    final int[] signals;
 
-    // Variables for shortest path calculation
-    static long[][] minTime = new long[MAX_GRID_SIZE * 2][MAX_GRID_SIZE * 2]; // Minimum time to reach each point
-    static boolean[][] inQueue = new boolean[MAX_GRID_SIZE * 2][MAX_GRID_SIZE * 2]; // Tracks if a point is in the queue
+    // Variables for shortest path calculation, flat over x * width + y and reused by every search
+    static final long UNREACHED = Long.MAX_VALUE; // Times can be negative for early departures, so -1 is no marker
+    final long[] minTime;      // Minimum time to reach each point, or UNREACHED
+    final TimeHeap heap = new TimeHeap();
+    long visits = 0;           // Points settled, each exactly once per search
+    long relaxations = 0;      // Times a point's arrival time was improved
+
+    GridPathSolver(int rows, int cols, int[] signals) {
+        this.rows = rows;
+        this.cols = cols;
+        this.width = 2 * cols;
+        this.signals = signals;
+        this.minTime = new long[2 * rows * width];
+    }
+
+    // Read the grid size followed by the three signal parameters of each intersection
+    static GridPathSolver read(FastInput in) {
+        int rows = in.nextInt(); // Number of rows
+        int cols = in.nextInt(); // Number of columns
+        int[] signals = new int[3 * rows * cols];
+        for (int i = 0; i < signals.length; i++) signals[i] = in.nextInt();
+        return new GridPathSolver(rows, cols, signals);
+    }
 
     // Calculate the next valid crossing time for the pedestrian
-    static long calculateTime(int x, int y, int direction, long currentTime) {
-        int cycleStartTime = cycleStart[x / 2][y / 2]; // Cycle start time for the intersection
-        int northSouthGreen = greenTime[x / 2][y / 2]; // North-south green light duration
-        int eastWestGreen = redTime[x / 2][y / 2];     // East-west green light duration
+    long calculateTime(int x, int y, int direction, long currentTime) {
+        int s = 3 * ((x / 2) * cols + y / 2);  // Signal data of the intersection
+        int northSouthGreen = signals[s];     // North-south green light duration
+        int eastWestGreen = signals[s + 1];   // East-west green light duration
+        int cycleStartTime = signals[s + 2];  // Cycle start time for the intersection
         int totalCycle = northSouthGreen + eastWestGreen; // Total cycle duration
         int elapsed = (int)((currentTime - cycleStartTime) % totalCycle + totalCycle) % totalCycle; // Elapsed time in the current cycle
 
@@ -59,35 +76,88 @@ public class GridPathSolver {
         }
     }
 
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    // Binary min-heap of (arrival time, point) entries, where points are flat indices x * width + y
+    // A point is pushed again whenever its time improves and outdated entries are skipped when popped,
+    // so the heap only holds the search frontier rather than a slot for every point of a large grid
+    static class TimeHeap {
+        private long[] times = new long[256]; // Arrival times in heap order
+        private int[] points = new int[256];  // Points in heap order
+        private int size = 0;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
 
-        // Read grid size
-        int rows = scanner.nextInt(); // Number of rows
-        int cols = scanner.nextInt(); // Number of columns
+        void clear() {
+            size = 0;
+        }
 
-        // Read traffic signal data for each intersection
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                greenTime[i][j] = scanner.nextInt(); // Green light time for north-south direction
-                redTime[i][j] = scanner.nextInt();   // Green light time for east-west direction
-                cycleStart[i][j] = scanner.nextInt(); // Start time of the cycle
+        void push(int point, long time) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                points = Arrays.copyOf(points, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (times[parent] <= time) break;
+                times[i] = times[parent];
+                points[i] = points[parent];
+                i = parent;
             }
+            times[i] = time;
+            points[i] = point;
         }
 
-        // Initialize minimum time array
-        for (long[] row : minTime) Arrays.fill(row, -1);
+        // Time of the earliest entry, which pop() removes
+        long peekTime() {
+            return times[0];
+        }
 
-        // Breadth-first search to find the shortest path
-        Queue<Point> queue = new LinkedList<>();
-        minTime[2 * rows - 1][0] = 0; // Start time at the southwest corner
-        queue.add(new Point(2 * rows - 1, 0));
+        // Remove the earliest entry and return its point
+        int pop() {
+            int top = points[0];
+            int n = --size;
+            long time = times[n];
+            int point = points[n];
+            int i = 0, half = n >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < n && times[child + 1] < times[child]) child++;
+                if (times[child] >= time) break;
+                times[i] = times[child];
+                points[i] = points[child];
+                i = child;
+            }
+            times[i] = time;
+            points[i] = point;
+            return top;
+        }
+    }
+
+    // Earliest arrival at the northeast corner when leaving the southwest corner at time 0
+    long shortestTime() {
+        return search((2 * rows - 1) * width, 0, width - 1);
+    }
 
-        while (!queue.isEmpty()) {
-            Point current = queue.poll(); // Current point
-            int x = current.x;
-            int y = current.y;
-            inQueue[x][y] = false; // Mark as not in queue
+    // Earliest arrival at the target point when leaving the source point at the given time
+    // A negative target settles every point, leaving the earliest arrival at each of them in minTime
+    // Waiting at a light never lets a later arrival cross earlier, so every crossing time is non-decreasing in the
+    // arrival time and Dijkstra's algorithm is exact: each point is settled once, in order of arrival
+    long search(int start, long departure, int target) {
+        Arrays.fill(minTime, UNREACHED);
+        heap.clear();
+        minTime[start] = departure;
+        heap.push(start, departure);
+
+        while (!heap.isEmpty()) {
+            long time = heap.peekTime();
+            int point = heap.pop();
+            if (time != minTime[point]) continue; // Outdated entry for a point that was improved since
+            visits++;
+            if (point == target) break; // Settled, so no later point can improve it
+            int x = point / width;
+            int y = point % width;
 
             // Explore all four directions
             for (int i = 0; i < 4; i++) {
@@ -95,23 +165,260 @@ public class GridPathSolver {
                 int ny = y + DY[i]; // New y-coordinate
 
                 // Skip invalid positions
-                if (nx < 0 || nx >= 2 * rows || ny < 0 || ny >= 2 * cols) {
+                if (nx < 0 || nx >= 2 * rows || ny < 0 || ny >= width) {
                     continue;
                 }
 
-                long nextTime = calculateTime(x, y, i, minTime[x][y]); // Calculate time to new position
-                if (minTime[nx][ny] == -1 || nextTime < minTime[nx][ny]) {
-                    minTime[nx][ny] = nextTime; // Update minimum time
-                    if (!inQueue[nx][ny]) {
-                        inQueue[nx][ny] = true; // Mark as in queue
-                        queue.add(new Point(nx, ny)); // Add to queue
-                    }
+                long nextTime = calculateTime(x, y, i, time); // Calculate time to new position
+                int next = nx * width + ny;
+                if (nextTime < minTime[next]) {
+                    minTime[next] = nextTime; // Update minimum time
+                    relaxations++;
+                    heap.push(next, nextTime);
                 }
             }
         }
+        return target < 0 ? UNREACHED : minTime[target];
+    }
+
+    // Length of a full cycle of the whole grid, the least common multiple of all signal cycles
+    // Returns 0 when it does not fit in a long, in which case departure times cannot be folded
+    long period() {
+        long period = 1;
+        for (int s = 0; s < signals.length; s += 3) {
+            long cycle = signals[s] + signals[s + 1];
+            long g = gcd(period, cycle);
+            try {
+                period = Math.multiplyExact(period / g, cycle);
+            } catch (ArithmeticException e) {
+                return 0;
+            }
+        }
+        return period;
+    }
+
+    static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // Answers many (source, target, departure) queries over one grid from cached earliest-arrival profiles
+    // Every light repeats after the grid period, so leaving at time t arrives exactly t - r later than leaving at
+    // r = t mod period. One full search per source and residue therefore serves every target and every departure
+    // time with that residue. Profiles are evicted least recently used first once the cache is full
+    // A profile holds one long per point, 32 MB on a 1000 x 1000 grid, so the cache is bounded in bytes, not profiles
+    static class TravelTimeService {
+        private final GridPathSolver solver;
+        private final long period;                       // Grid period, or 0 if departures are not folded
+        private final int capacity;                      // Profiles that fit in the memory budget
+        private final LinkedHashMap<ProfileKey, long[]> profiles;
+        long hits = 0, misses = 0, evictions = 0;        // Cache metrics
+
+        // Cache key of one profile: a source point and a departure time reduced modulo the period
+        static class ProfileKey {
+            final int source;
+            final long residue;
+
+            ProfileKey(int source, long residue) {
+                this.source = source;
+                this.residue = residue;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                return o instanceof ProfileKey && ((ProfileKey) o).source == source && ((ProfileKey) o).residue == residue;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * source + Long.hashCode(residue);
+            }
+        }
+
+        // Keep as many profiles as fit in budget bytes; with room for none, every query searches afresh and reads
+        // the solver's own arrival times, so no memory is used beyond the solver
+        TravelTimeService(GridPathSolver solver, long budget) {
+            this.solver = solver;
+            this.period = solver.period();
+            this.capacity = (int) Math.min(Integer.MAX_VALUE, budget / (8L * solver.minTime.length));
+            this.profiles = new LinkedHashMap<ProfileKey, long[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ProfileKey, long[]> eldest) {
+                    if (size() <= capacity) return false;
+                    evictions++;
+                    return true;
+                }
+            };
+        }
+
+        // Earliest arrival at point (tx, ty) when leaving point (sx, sy) at the given time
+        // Points use the doubled grid coordinates of the solver, with x = 0 on the north side and y = 0 on the west side
+        long arrival(int sx, int sy, int tx, int ty, long departure) {
+            long residue = period == 0 ? departure : Math.floorMod(departure, period);
+            ProfileKey key = new ProfileKey(sx * solver.width + sy, residue);
+            long[] profile = profiles.get(key);
+            if (profile != null) {
+                hits++;
+            } else {
+                misses++;
+                solver.search(key.source, residue, -1);
+                if (capacity == 0) return solver.minTime[tx * solver.width + ty] + (departure - residue);
+                profile = solver.minTime.clone();
+                profiles.put(key, profile);
+            }
+            return profile[tx * solver.width + ty] + (departure - residue);
+        }
+    }
+
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Answer a count followed by that many "sx sy tx ty departure" queries read after the grid, one arrival per line
+    // Run as: java Code.java --queries [cache megabytes] < grid-and-queries
+    static void answerQueries(GridPathSolver solver, long budget, FastInput in, FastOutput out) {
+        TravelTimeService service = new TravelTimeService(solver, budget);
+        int queries = in.nextInt();
+        for (int q = 0; q < queries; q++) {
+            int sx = in.nextInt(), sy = in.nextInt(), tx = in.nextInt(), ty = in.nextInt();
+            out.print(service.arrival(sx, sy, tx, ty, in.nextLong())).println();
+        }
+        System.err.println("profile cache of " + service.capacity + " profiles: " + service.hits + " hits, "
+                + service.misses + " misses, " + service.evictions + " evictions");
+    }
+
+    public static void main(String[] args) {
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
+
+        GridPathSolver solver = read(in); // Grid size and traffic signal data
+        if (args.length > 0 && args[0].equals("--queries")) {
+            long megabytes = args.length > 1 ? Long.parseLong(args[1]) : 256; // Memory for cached profiles
+            answerQueries(solver, megabytes << 20, in, out);
+            out.flush();
+            return;
+        }
+        long best = solver.shortestTime(); // Earliest arrival at the northeast corner
+        if (args.length > 0 && args[0].equals("--stats")) {
+            System.err.println("visited " + solver.visits + " points, " + solver.relaxations + " relaxations");
+        }
 
         // Output the shortest time to reach the northeast corner
-        System.out.println(minTime[0][2 * cols - 1]);
-        scanner.close();
+        out.print(best).println();
+        out.flush();
     }
 }
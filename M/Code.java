@@ -1,4 +1,11 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 // The problem asks if it's possible to travel from the top-left corner of a grid to the bottom-right corner while visiting exactly K music festivals along the way.
 // The grid contains towns, some of which host music festivals.
@@ -9,99 +16,343 @@ import java.util.*;
 // By the time we reach the bottom-right corner, we simply check if exactly K festivals can be visited.
 // The approach ensures we explore all valid paths efficiently without retracing steps unnecessarily.
 public class Main {
-    public static void main(String[] args) {
-        // Read input using Scanner
-        Scanner scanner = new Scanner(System.in);
-        int N = scanner.nextInt(); // Number of rows
-        int M = scanner.nextInt(); // Number of columns
-        int K = scanner.nextInt(); // Target number of festivals to visit
-        scanner.nextLine(); // Consume the newline character
-
-        // Initialize the grid: festival[i][j] indicates if town (i, j) hosts a festival
-        boolean[][] festival = new boolean[N][M];
-        for (int i = 0; i < N; i++) {
-            String line = scanner.nextLine();
-            for (int j = 0; j < M; j++) {
-                festival[i][j] = (line.charAt(j) == '1');
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
             }
+            return buf[ptr] & 0xFF;
         }
 
-        // Use dynamic programming with space optimization
-        // dp[j] stores the reachable states for column j
-        BitSet[] dp = new BitSet[M];       // Current row states
-        BitSet[] nextDp = new BitSet[M];  // Next row states
-        for (int j = 0; j < M; j++) {
-            dp[j] = new BitSet(K + 1);
-            nextDp[j] = new BitSet(K + 1);
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
         }
 
-        // Initialize the starting point (0, 0)
-        if (festival[0][0]) {
-            dp[0].set(1); // Starting at a festival, visit count is 1
-        } else {
-            dp[0].set(0); // Starting at a non-festival town, visit count is 0
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
         }
 
-        // Process the first row: Can only move right
-        for (int j = 1; j < M; j++) {
-            dp[j].or(dp[j - 1]); // Transition from the previous column
-            if (festival[0][j]) {
-                dp[j] = shiftLeft(dp[j], K); // Increment festival visit count
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
             }
+            return negative ? -value : value;
         }
 
-        // Process rows from the second row to the last row
-        for (int i = 1; i < N; i++) {
-            // Clear the next row states
-            for (int j = 0; j < M; j++) {
-                nextDp[j].clear();
+        // Return the rest of the current line without its terminator, or null at the end of the input
+        String nextLine() {
+            int ch = peek();
+            if (ch == -1) return null;
+            int n = 0;
+            while (ch != -1 && ch != '\n') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
             }
+            if (ch == '\n') ptr++;
+            if (n > 0 && tok[n - 1] == '\r') n--;
+            return new String(tok, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
 
-            // Process the first column of the current row
-            nextDp[0].or(dp[0]); // Transition from the column above
-            if (festival[i][0]) {
-                nextDp[0] = shiftLeft(nextDp[0], K);
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+            pos = 0;
+        }
 
-            // Process the rest of the columns in the current row
-            for (int j = 1; j < M; j++) {
-                // Merge reachable states from above and left
-                nextDp[j].or(dp[j]);        // Transition from the above row
-                nextDp[j].or(nextDp[j - 1]); // Transition from the left column
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
 
-                // Increment visit count if the current town hosts a festival
-                if (festival[i][j]) {
-                    nextDp[j] = shiftLeft(nextDp[j], K);
-                }
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }
+    }
+
+    public static void main(String[] args) {
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
+        int N = in.nextInt(); // Number of rows
+        int M = in.nextInt(); // Number of columns
+        int K = in.nextInt(); // Target number of festivals to visit
+        in.nextLine(); // Consume the newline character
 
-            // Roll over the dp arrays for the next iteration
-            BitSet[] temp = dp;
-            dp = nextDp;
-            nextDp = temp;
+        boolean possible;
+        if (args.length > 0 && args[0].equals("--bitset")) {
+            // Full bit set engine, kept to cross-check the interval engine
+            boolean[][] festival = readGrid(in, N, M);
+            possible = canVisitExactly(festival, K);
+        } else if (args.length > 0 && args[0].equals("--wavefront")) {
+            // Bit set engine as a parallel wavefront, optionally with a given number of threads
+            boolean[][] festival = readGrid(in, N, M);
+            int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            possible = canVisitExactly(festival, K, pool);
+            pool.shutdown();
+        } else {
+            possible = canVisitExactly(in, N, M, K);
         }
 
         // Check if we can reach the bottom-right corner with exactly K festivals visited
-        System.out.println(dp[M - 1].get(K) ? 1 : 0);
+        out.print(possible ? 1 : 0).println();
+        out.flush();
+    }
+
+    // Initialize the grid: festival[i][j] indicates if town (i, j) hosts a festival
+    static boolean[][] readGrid(FastInput in, int N, int M) {
+        boolean[][] festival = new boolean[N][M];
+        for (int i = 0; i < N; i++) {
+            String line = in.nextLine();
+            for (int j = 0; j < M; j++) {
+                festival[i][j] = (line.charAt(j) == '1');
+            }
+        }
+        return festival;
     }
 
     /**
-     * Shifts all bits in the given BitSet to the left by 1 position.
+     * Decides whether some right/down path from (0, 0) to (N - 1, M - 1) visits exactly K festivals, reading the
+     * grid rows straight from the input so that only O(M) ints are ever held.
+     * The reachable visit counts at every cell always form one contiguous range: two paths that differ by a single
+     * corner (right-then-down versus down-then-right) swap one town for another, so their counts differ by at most 1,
+     * and any path can be turned into any other by such corner flips. Keeping [min, max] per column is therefore
+     * exact, intervals can never fragment, and the DP is O(N * M) regardless of K.
+     *
+     * @param in The input, positioned at the first grid row.
+     * @param N  The number of rows.
+     * @param M  The number of columns.
+     * @param K  The target number of festivals to visit.
+     * @return   Whether exactly K festivals can be visited.
+     */
+    static boolean canVisitExactly(FastInput in, int N, int M, int K) {
+        int[] lo = new int[M]; // Fewest festivals on a path to each column of the current row
+        int[] hi = new int[M]; // Most festivals on a path to each column of the current row
+        Arrays.fill(lo, Integer.MAX_VALUE); // Nothing is reachable above the first row
+        Arrays.fill(hi, Integer.MIN_VALUE);
+
+        for (int i = 0; i < N; i++) {
+            String line = in.nextLine();
+            for (int j = 0; j < M; j++) {
+                // Merge the range from the cell above, still in place, with the one from the left column
+                int min = lo[j], max = hi[j];
+                if (j > 0) {
+                    min = Math.min(min, lo[j - 1]);
+                    max = Math.max(max, hi[j - 1]);
+                } else if (i == 0) {
+                    min = max = 0; // The starting point (0, 0)
+                }
+                int visit = line.charAt(j) == '1' ? 1 : 0; // Whether the current town hosts a festival
+                lo[j] = min + visit;
+                hi[j] = max + visit;
+            }
+        }
+
+        // Check if we can reach the bottom-right corner with exactly K festivals visited
+        return lo[M - 1] <= K && K <= hi[M - 1];
+    }
+
+    /**
+     * Decides whether some right/down path from (0, 0) to (N - 1, M - 1) visits exactly K festivals.
+     * The reachable visit counts of every column are kept as a (K + 1)-bit set of longs, and all columns of a row
+     * are packed into one long[] that is updated in place: before column j is processed it still holds the counts
+     * of the cell above, so merging in the column to its left and shifting on a festival yields the current cell.
+     * Each cell therefore costs O(K / 64) word operations and nothing is allocated after the row itself.
+     *
+     * @param festival festival[i][j] indicates if town (i, j) hosts a festival
+     * @param K        The target number of festivals to visit.
+     * @return         Whether exactly K festivals can be visited.
+     */
+    static boolean canVisitExactly(boolean[][] festival, int K) {
+        int N = festival.length;
+        int M = festival[0].length;
+        int words = (K >>> 6) + 1;                 // Longs per column
+        long lastMask = -1L >>> (63 - (K & 63));  // Valid bits of the last word, counts above K are discarded
+        long[] row = new long[M * words];          // Reachable counts of each column, zero above the first row
+
+        // Initialize the starting point (0, 0): visit count 1 at a festival, 0 otherwise
+        row[0] = 1;
+        if (festival[0][0]) shiftLeft(row, 0, words, lastMask);
+
+        // The whole grid is a single tile, so no column edges are needed
+        sweepTile(festival, row, null, words, lastMask, 0, N, 0, M);
+
+        // Check if we can reach the bottom-right corner with exactly K festivals visited
+        return (row[(M - 1) * words + (K >>> 6)] >>> (K & 63) & 1) != 0;
+    }
+
+    // Side length of the square tiles that the wavefront hands to one worker at a time
+    static final int TILE = 128;
+
+    /**
+     * Same decision as {@link #canVisitExactly(boolean[][], int)}, computed as a wavefront of tiles on the pool.
+     * A tile only depends on the tile above and the tile to its left, so all tiles on one anti-diagonal of the tile
+     * grid are independent and run in parallel, with a barrier between consecutive diagonals. Tiles on the same
+     * diagonal touch disjoint columns of the shared row and disjoint rows of the column edges, so every cell sees
+     * exactly the inputs of the sequential sweep and the result does not depend on the number of threads.
+     *
+     * @param festival festival[i][j] indicates if town (i, j) hosts a festival
+     * @param K        The target number of festivals to visit.
+     * @param pool     The pool that runs the tiles.
+     * @return         Whether exactly K festivals can be visited.
+     */
+    static boolean canVisitExactly(boolean[][] festival, int K, ForkJoinPool pool) {
+        int N = festival.length;
+        int M = festival[0].length;
+        int words = (K >>> 6) + 1;
+        long lastMask = -1L >>> (63 - (K & 63));
+        long[] row = new long[M * words];  // Bottom row of the latest tile in each column
+        long[] edge = new long[N * words]; // Rightmost column of the latest tile in each row, per row
+        int tileRows = (N + TILE - 1) / TILE, tileCols = (M + TILE - 1) / TILE;
+
+        row[0] = 1;
+        if (festival[0][0]) shiftLeft(row, 0, words, lastMask);
+
+        for (int d = 0; d < tileRows + tileCols - 1; d++) {
+            int diagonal = d;
+            int first = Math.max(0, d - tileCols + 1), last = Math.min(d, tileRows - 1); // Tile rows on the diagonal
+            pool.submit(() -> IntStream.rangeClosed(first, last).parallel().forEach(t -> {
+                int i0 = t * TILE, j0 = (diagonal - t) * TILE;
+                sweepTile(festival, row, edge, words, lastMask,
+                        i0, Math.min(N, i0 + TILE), j0, Math.min(M, j0 + TILE));
+            })).join();
+        }
+
+        return (row[(M - 1) * words + (K >>> 6)] >>> (K & 63) & 1) != 0;
+    }
+
+    /**
+     * Runs the bit set DP over rows [i0, i1) and columns [j0, j1) in row-major order, updating the row in place.
+     * On entry, each column of the tile holds the counts of the cell just above the tile, and the edge holds the
+     * counts of the cell just left of the tile in each of its rows. On exit, the columns hold the tile's bottom row
+     * and, unless the tile ends at the last column, the edge holds its rightmost column.
+     *
+     * @param festival festival[i][j] indicates if town (i, j) hosts a festival
+     * @param row      The packed bit sets of each column.
+     * @param edge     The packed bit sets of each row at the left edge of the tile, or null for a single tile.
+     * @param words    The number of words per bit set.
+     * @param lastMask The valid bits of the last word.
+     */
+    private static void sweepTile(boolean[][] festival, long[] row, long[] edge, int words, long lastMask,
+                                  int i0, int i1, int j0, int j1) {
+        int M = festival[0].length;
+        for (int i = i0; i < i1; i++) {
+            boolean[] towns = festival[i];
+            for (int j = j0; j < j1; j++) {
+                if (i == 0 && j == 0) continue;
+                int at = j * words; // The column still holds the counts from the row above
+                if (j > j0) {
+                    // Merge reachable states from the left column
+                    for (int w = 0; w < words; w++) row[at + w] |= row[at - words + w];
+                } else if (j > 0) {
+                    // The left column belongs to the previous tile, whose value for this row is on the edge
+                    for (int w = 0; w < words; w++) row[at + w] |= edge[i * words + w];
+                }
+                // Increment visit count if the current town hosts a festival
+                if (towns[j]) shiftLeft(row, at, words, lastMask);
+            }
+            if (j1 < M) System.arraycopy(row, (j1 - 1) * words, edge, i * words, words);
+        }
+    }
+
+    /**
+     * Shifts the bit set stored in words [from, from + words) left by 1 position in place.
      * This effectively increases the festival visit count by 1.
      * Any bits exceeding the range [0, K] are discarded.
      *
-     * @param bs The input BitSet representing reachable states.
-     * @param K  The maximum number of festivals allowed.
-     * @return   A new BitSet with all bits shifted left by 1.
+     * @param bits     The packed row of bit sets.
+     * @param from     The first word of the bit set to shift.
+     * @param words    The number of words per bit set.
+     * @param lastMask The valid bits of the last word.
      */
-    private static BitSet shiftLeft(BitSet bs, int K) {
-        BitSet res = new BitSet(K + 1);
-        // Iterate through all set bits and shift them left by 1
-        for (int x = bs.nextSetBit(0); x >= 0; x = bs.nextSetBit(x + 1)) {
-            if (x + 1 <= K) { // Ensure the shifted value does not exceed K
-                res.set(x + 1);
-            }
+    private static void shiftLeft(long[] bits, int from, int words, long lastMask) {
+        for (int w = from + words - 1; w > from; w--) {
+            bits[w] = bits[w] << 1 | bits[w - 1] >>> 63;
         }
-        return res;
+        bits[from] <<= 1;
+        bits[from + words - 1] &= lastMask;
     }
 }
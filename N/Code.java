@@ -1,12 +1,14 @@
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.StringTokenizer;
+import java.util.stream.IntStream;
 import java.text.DecimalFormat;
 
 // The goal of this problem is to determine the possible area where an object could be hidden based on a series of clues provided during the game "Hotter, Colder."
-// The room is represented as a 10x10 square, and the player starts at position (0,0).
+// The room is represented as a 10x10 square by default (any convex room can be given), and the player starts at position (0,0).
 // For each new position the player visits, the game gives feedback—whether the player is getting "Hotter" (closer), "Colder" (farther), or "Same" (the same distance) relative to the hidden object.
 // Based on this feedback, we iteratively narrow down the possible region where the object might be.
 // This is done by adding constraints (represented as lines) to define valid regions using geometry.
@@ -17,158 +19,675 @@ import java.text.DecimalFormat;
 public class Main {
     static final double EPS = 1e-9; // Small constant for floating-point comparisons
 
-    // Represents a point in 2D space
-    static class Point {
-        double x, y;
-        Point(double x, double y) { this.x = x; this.y = y; }
+    // Cross product of vectors (ax, ay) and (bx, by)
+    static double cross(double ax, double ay, double bx, double by) {
+        return ax * by - ay * bx;
     }
 
-    // Helper methods for vector operations
-    static Point add(Point A, Point B) { return new Point(A.x + B.x, A.y + B.y); }
-    static Point sub(Point A, Point B) { return new Point(A.x - B.x, A.y - B.y); }
-    static Point mul(Point A, double p) { return new Point(A.x * p, A.y * p); }
-    static Point div(Point A, double p) { return new Point(A.x / p, A.y / p); }
-    static double cross(Point A, Point B) { return A.x * B.y - A.y * B.x; } // Cross product
-    static Point normal(Point A) { return new Point(-A.y, A.x); } // Perpendicular vector
+    // Whether a value is so close to a tie in its second decimal that rounding it depends on its last bits
+    // Below 1e12 the scaling error is far smaller than the 1e-3 margin, so the rounding elsewhere is unambiguous
+    static boolean nearTie(double value) {
+        double scaled = Math.abs(value) * 100;
+        return scaled >= 1e12 || Math.abs(scaled - Math.floor(scaled) - 0.5) <= 1e-3;
+    }
+
+    // Monotone stand-in for Math.atan2(y, x) over (-pi, pi], ranging over [-2, 2]
+    // It orders directions exactly like the angle does, without any trigonometry
+    static double pseudoAngle(double x, double y) {
+        double sum = Math.abs(x) + Math.abs(y);
+        if (sum == 0) return 0; // Like Math.atan2(0, 0)
+        return Math.copySign(1 - x / sum, y);
+    }
 
-    // Represents a line in 2D space
-    static class Line implements Comparable<Line> {
-        Point P, v; // Point on the line and direction vector
-        double ang; // Angle of the line (used for sorting)
+    // Half-plane intersection over reusable structure-of-arrays buffers
+    // Each half-plane is the left side of a directed line through (px, py) with direction (vx, vy)
+    // Lines are sorted by pseudo-angle with an index heap sort, so nothing is allocated per call
+    static class HalfPlaneEngine {
+        // All buffers share one capacity and grow together, so they are only reallocated when lines are added
+        private double[] px, py, vx, vy; // Point on each line and its direction
+        private double[] key;            // Pseudo-angle of each line
+        private int[] order;             // Line indices sorted by angle
+        private int[] q;                 // Deque of line indices
+        private double[] ix, iy;         // ix[k], iy[k]: intersection of deque lines k and k + 1
+        private double[] polyX, polyY;   // Vertices of the last intersection
+        private int n = 0;               // Number of lines
+        private int vertices = 0;        // Number of vertices of the last intersection
 
-        Line(Point P, Point v) {
-            this.P = P;
-            this.v = v;
-            this.ang = Math.atan2(v.y, v.x);
+        HalfPlaneEngine() {
+            this(16);
         }
 
-        // Compare lines based on their angles
-        public int compareTo(Line o) {
-            double d = this.ang - o.ang;
-            if (Math.abs(d) < EPS) return 0;
-            return d < 0 ? -1 : 1;
+        HalfPlaneEngine(int capacity) {
+            px = new double[capacity];
+            py = new double[capacity];
+            vx = new double[capacity];
+            vy = new double[capacity];
+            key = new double[capacity];
+            order = new int[capacity];
+            q = new int[capacity];
+            ix = new double[capacity];
+            iy = new double[capacity];
+            polyX = new double[capacity];
+            polyY = new double[capacity];
         }
-    }
 
-    // Check if a point is on the left side of a line
-    static boolean onLeft(Line L, Point p) {
-        return cross(L.v, sub(p, L.P)) >= -EPS;
-    }
+        private void grow() {
+            int capacity = Math.max(16, px.length * 2);
+            px = Arrays.copyOf(px, capacity);
+            py = Arrays.copyOf(py, capacity);
+            vx = Arrays.copyOf(vx, capacity);
+            vy = Arrays.copyOf(vy, capacity);
+            key = Arrays.copyOf(key, capacity);
+            order = new int[capacity];
+            q = new int[capacity];
+            ix = new double[capacity];
+            iy = new double[capacity];
+            polyX = new double[capacity];
+            polyY = new double[capacity];
+            vertices = 0;
+        }
 
-    // Calculate intersection point of two lines
-    static Point getIntersection(Line a, Line b) {
-        Point u = sub(a.P, b.P);
-        double t = cross(b.v, u) / cross(a.v, b.v);
-        return add(a.P, mul(a.v, t));
-    }
+        void clear() {
+            n = 0;
+            vertices = 0;
+        }
+
+        void add(double x, double y, double dx, double dy) {
+            if (n == px.length) grow();
+            px[n] = x;
+            py[n] = y;
+            vx[n] = dx;
+            vy[n] = dy;
+            key[n] = pseudoAngle(dx, dy);
+            n++;
+        }
 
-    // Half-plane intersection algorithm to find the intersection of multiple half-planes
-    static int halfPlaneIntersection(Line[] L, int n, Point[] poly) {
-        Line[] temp = new Line[n];
-        System.arraycopy(L, 0, temp, 0, n);
-        Arrays.sort(temp);
+        // Check if a point is on the left side of a line
+        private boolean onLeft(int l, double x, double y) {
+            return cross(vx[l], vy[l], x - px[l], y - py[l]) >= -EPS;
+        }
 
-        Line[] q = new Line[n];
-        Point[] p = new Point[n];
-        int first = 0, last = 0;
-        q[0] = temp[0];
+        // Store the intersection point of lines a and b at slot k
+        private void intersect(int a, int b, int k) {
+            double ux = px[a] - px[b], uy = py[a] - py[b];
+            double t = cross(vx[b], vy[b], ux, uy) / cross(vx[a], vy[a], vx[b], vy[b]);
+            ix[k] = px[a] + vx[a] * t;
+            iy[k] = py[a] + vy[a] * t;
+        }
 
-        for (int i = 1; i < n; i++) {
-            while (first < last && !onLeft(temp[i], p[last - 1])) last--;
-            while (first < last && !onLeft(temp[i], p[first])) first++;
-            q[++last] = temp[i];
+        // Intersect all lines added so far and return the number of vertices, or 0 if nothing is left
+        int intersect() {
+            sortByAngle();
+            int first = 0, last = 0;
+            q[0] = order[0];
 
-            // Check for parallel lines
-            if (Math.abs(cross(q[last].v, q[last - 1].v)) < EPS) {
-                last--;
-                if (onLeft(q[last], temp[i].P)) q[last] = temp[i];
+            for (int i = 1; i < n; i++) {
+                int l = order[i];
+                while (first < last && !onLeft(l, ix[last - 1], iy[last - 1])) last--;
+                while (first < last && !onLeft(l, ix[first], iy[first])) first++;
+                q[++last] = l;
+
+                // Check for parallel lines
+                int prev = q[last - 1];
+                if (Math.abs(cross(vx[l], vy[l], vx[prev], vy[prev])) < EPS) {
+                    last--;
+                    if (onLeft(q[last], px[l], py[l])) q[last] = l;
+                }
+
+                // Compute intersection points
+                if (first < last) intersect(q[last - 1], q[last], last - 1);
             }
 
-            // Compute intersection points
-            if (first < last) p[last - 1] = getIntersection(q[last - 1], q[last]);
+            while (first < last && !onLeft(q[first], ix[last - 1], iy[last - 1])) last--;
+            vertices = 0;
+            if (last - first <= 1) return 0; // No valid region
+
+            intersect(q[last], q[first], last); // Close the polygon
+            for (int i = first; i <= last; i++) {
+                polyX[vertices] = ix[i];
+                polyY[vertices] = iy[i];
+                vertices++;
+            }
+            return vertices;
         }
 
-        while (first < last && !onLeft(q[first], p[last - 1])) last--;
-        if (last - first <= 1) return 0; // No valid region
+        // Area of the polygon from the last intersection
+        double area() {
+            double area = 0.0;
+            for (int j = 0; j < vertices; j++) {
+                int k = j + 1 == vertices ? 0 : j + 1;
+                area += cross(polyX[j], polyY[j], polyX[k], polyY[k]) * 0.5; // Compute area of polygon
+            }
+            return Math.abs(area);
+        }
 
-        p[last] = getIntersection(q[last], q[first]); // Close the polygon
+        // Heap sort of the line indices by pseudo-angle, ties kept in insertion order
+        private void sortByAngle() {
+            for (int i = 0; i < n; i++) order[i] = i;
+            for (int i = n / 2 - 1; i >= 0; i--) siftDown(i, n);
+            for (int end = n - 1; end > 0; end--) {
+                int top = order[0];
+                order[0] = order[end];
+                order[end] = top;
+                siftDown(0, end);
+            }
+        }
+
+        private boolean before(int a, int b) {
+            return key[a] < key[b] || (key[a] == key[b] && a < b);
+        }
 
-        int m = 0;
-        for (int i = first; i <= last; i++) poly[m++] = p[i];
-        return m;
+        private void siftDown(int i, int size) {
+            int l = order[i];
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && before(order[child], order[child + 1])) child++;
+                if (!before(l, order[child])) break;
+                order[i] = order[child];
+                i = child;
+            }
+            order[i] = l;
+        }
     }
 
-    public static void main(String[] args) throws IOException {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        StringTokenizer st = new StringTokenizer(br.readLine());
-        int n = Integer.parseInt(st.nextToken()); // Number of positions
+    // Convex region that shrinks one half-plane at a time
+    // Vertices are kept counter-clockwise in parallel coordinate arrays, and each clip is one
+    // Sutherland-Hodgman pass over the current polygon that also recomputes its area
+    static class ConvexRegion {
+        private double[] xs, ys;       // Current vertices
+        private double[] nextX, nextY; // Clipped vertices, grown on demand since a clip adds at most one vertex
+        private int size;              // Number of vertices, fewer than 3 once the region is empty
+        private double area;           // Area of the current polygon
 
-        Line[] L = new Line[1010]; // Array to store lines
-        int lcnt = 0;
+        // Start from a convex polygon given counter-clockwise
+        ConvexRegion(double[] cornerX, double[] cornerY) {
+            size = cornerX.length;
+            xs = Arrays.copyOf(cornerX, size + 1);
+            ys = Arrays.copyOf(cornerY, size + 1);
+            nextX = new double[size + 1];
+            nextY = new double[size + 1];
+            area = shoelace(xs, ys, size);
+        }
 
-        // Define the initial bounding box (the room)
-        Point[] corners = {
-                new Point(0, 0),
-                new Point(10, 0),
-                new Point(10, 10),
-                new Point(0, 10)
-        };
+        boolean isEmpty() {
+            return size < 3;
+        }
 
-        for (int i = 0; i < 4; i++) {
-            Point P = corners[i];
-            Point v = sub(corners[(i + 1) % 4], corners[i]);
-            L[lcnt++] = new Line(P, v);
+        double area() {
+            return area;
         }
 
-        Point[] poly = new Point[1010]; // Array to store the resulting polygon
-        for (int i = 0; i < 1010; i++) {
-            poly[i] = new Point(0, 0);
+        // Keep the part of the region on the left of the line through (px, py) with direction (vx, vy)
+        void clip(double px, double py, double vx, double vy) {
+            if (size == 0) return;
+            if (nextX.length <= size) {
+                nextX = new double[2 * size + 1];
+                nextY = new double[2 * size + 1];
+            }
+            int m = 0;
+            double prevX = xs[size - 1], prevY = ys[size - 1];
+            double prevSide = cross(vx, vy, prevX - px, prevY - py);
+            for (int i = 0; i < size; i++) {
+                double x = xs[i], y = ys[i];
+                double side = cross(vx, vy, x - px, y - py); // Which side of the line the vertex is on
+                boolean inside = side >= -EPS;
+                if (inside != (prevSide >= -EPS)) {
+                    // The edge from the previous vertex crosses the line, so add the crossing point
+                    double t = prevSide / (prevSide - side);
+                    nextX[m] = prevX + (x - prevX) * t;
+                    nextY[m] = prevY + (y - prevY) * t;
+                    m++;
+                }
+                if (inside) {
+                    nextX[m] = x;
+                    nextY[m] = y;
+                    m++;
+                }
+                prevX = x;
+                prevY = y;
+                prevSide = side;
+            }
+
+            // Swap the buffers so that the clipped polygon becomes the current one
+            double[] t = xs;
+            xs = nextX;
+            nextX = t;
+            t = ys;
+            ys = nextY;
+            nextY = t;
+            size = m;
+            area = m < 3 ? 0 : shoelace(xs, ys, m);
         }
 
-        DecimalFormat df = new DecimalFormat("0.00"); // Format for output
-        Point pre = new Point(0, 0); // Previous position
-        boolean flag = true; // Indicates if the region is valid
+        // Twice the signed area of a polygon, positive when it is counter-clockwise
+        static double signedArea(double[] xs, double[] ys) {
+            double area = 0.0;
+            for (int j = xs.length - 1, k = 0; k < xs.length; j = k++) {
+                area += cross(xs[j], ys[j], xs[k], ys[k]);
+            }
+            return area;
+        }
 
-        for (int i = 0; i < n; i++) {
-            String line = br.readLine();
-            if (line == null) break;
-            st = new StringTokenizer(line);
-            double x = Double.parseDouble(st.nextToken());
-            double y = Double.parseDouble(st.nextToken());
-            String status = st.nextToken(); // "Hotter", "Colder", or "Same"
+        // Reject a room that is not a convex polygon listed counter-clockwise, since clipping relies on both
+        static void checkConvex(double[] xs, double[] ys) {
+            int n = xs.length;
+            if (n < 3) throw new IllegalArgumentException("The room needs at least 3 vertices, got " + n);
+            if (signedArea(xs, ys) <= EPS) throw new IllegalArgumentException("The room has no area");
+            int wraps = 0; // Times the edge direction passes -pi, exactly once around a convex polygon
+            for (int i = 0; i < n; i++) {
+                int j = (i + 1) % n, k = (i + 2) % n;
+                double ax = xs[j] - xs[i], ay = ys[j] - ys[i];
+                double bx = xs[k] - xs[j], by = ys[k] - ys[j];
+                if (bx == 0 && by == 0) {
+                    throw new IllegalArgumentException("The room repeats vertex (" + xs[j] + ", " + ys[j] + ")");
+                }
+                double turn = cross(ax, ay, bx, by);
+                if (turn < -EPS || (turn <= EPS && ax * bx + ay * by < 0)) { // A right turn or a U-turn
+                    throw new IllegalArgumentException("The room is not convex at (" + xs[j] + ", " + ys[j] + ")");
+                }
+                if (pseudoAngle(bx, by) < pseudoAngle(ax, ay)) wraps++;
+            }
+            if (wraps != 1) {
+                throw new IllegalArgumentException("The room is not convex: its boundary winds " + wraps + " times");
+            }
+        }
+
+        // Area of a counter-clockwise polygon
+        static double shoelace(double[] xs, double[] ys, int n) {
+            double area = 0.0;
+            for (int j = n - 1, k = 0; k < n; j = k++) {
+                area += cross(xs[j], ys[j], xs[k], ys[k]);
+            }
+            return Math.abs(area) * 0.5;
+        }
+    }
+
+    // One game of Hotter/Colder in a convex room, narrowing the region of the hidden object clue by clue
+    // Sessions share nothing, so independent games can be played on different threads
+    static class Session {
+        private final ConvexRegion region;   // Region left after the clues so far
+        private final HalfPlaneEngine engine; // All lines so far, for the full recomputation
+        private final boolean full;          // Whether every region is recomputed in full
+        private double preX = 0, preY = 0;   // Previous position, starting at (0, 0)
+        private double last;                 // Area after the previous clue
+        private boolean flag = true;         // Indicates if the region is valid
+
+        // Start a game in the given room, a convex polygon listed in either orientation
+        Session(double[] roomX, double[] roomY, boolean full) {
+            this.full = full;
+            region = new ConvexRegion(roomX, roomY);
+            last = region.area();
+            engine = new HalfPlaneEngine();
+            int k = roomX.length;
+            for (int i = 0; i < k; i++) {
+                int j = (i + 1) % k;
+                engine.add(roomX[i], roomY[i], roomX[j] - roomX[i], roomY[j] - roomY[i]);
+            }
+        }
+
+        // Apply a clue given by the first letter of "Hotter", "Colder" or "Same" and return the area left
+        double clue(double x, double y, char status) {
+            if (!flag) return 0;
+            // "Same" leaves only the bisector itself, which has no area
+            if (status == 'S') {
+                flag = false;
+                return 0;
+            }
+            // Without a move there is no bisector, so the clue says nothing and the region is kept as it is
+            // The original added a line without a direction instead, which mostly had the same effect but could
+            // also print NaN or even grow the region
+            if (x == preX && y == preY) return last;
 
-            if (!flag) {
-                System.out.println("0.00");
-                continue;
+            // The boundary is the perpendicular bisector of the previous and current positions, through their
+            // midpoint; its direction keeps the half closer to the current position for "Hotter"
+            double midX = (preX + x) / 2.0, midY = (preY + y) / 2.0;
+            double dirX = -(preY - y), dirY = preX - x;
+            if (status != 'H') { // "Colder" case
+                dirX = -(y - preY);
+                dirY = x - preX;
             }
+            preX = x; // Update the previous position
+            preY = y;
 
-            Point cur = new Point(x, y); // Current position
-            if (status.charAt(0) == 'S') { // "Same" case
-                System.out.println("0.00");
+            double area = -1; // Area of the remaining region, or -1 if nothing is left
+            engine.add(midX, midY, dirX, dirY);
+            if (!full) {
+                region.clip(midX, midY, dirX, dirY);
+                if (!region.isEmpty()) area = region.area();
+            }
+            // The clipped area only differs from the full one in its last bits, which decide the printed
+            // digits at an exact tie such as 60.695, so ties are recomputed in full to print what it prints
+            if (full || (area >= 0 && nearTie(area))) {
+                area = -1;
+                if (engine.intersect() > 0) area = engine.area(); // Calculate the intersecting region
+            }
+            if (area < 0) {
                 flag = false;
-            } else {
-                Point mid = div(add(pre, cur), 2.0); // Midpoint of current and previous positions
-                if (status.charAt(0) == 'H') { // "Hotter" case
-                    Point dir = normal(sub(pre, cur));
-                    L[lcnt++] = new Line(mid, dir);
-                } else { // "Colder" case
-                    Point dir = normal(sub(cur, pre));
-                    L[lcnt++] = new Line(mid, dir);
+                return 0;
+            }
+            last = area;
+            return area;
+        }
+    }
+
+    // Clues of one session, read up front so that sessions can be solved in parallel
+    static class Clues {
+        final double[] x, y;  // Positions visited
+        final char[] status;  // First letter of each answer
+        int count = 0;        // Clues actually read
+
+        Clues(int n) {
+            x = new double[n];
+            y = new double[n];
+            status = new char[n];
+        }
+
+        // Read up to n clues, stopping early at the end of the input
+        static Clues read(FastInput in, int n) {
+            Clues clues = new Clues(n);
+            for (int i = 0; i < n && in.skipSpaces() != -1; i++) {
+                clues.x[i] = in.nextDouble();
+                clues.y[i] = in.nextDouble();
+                clues.status[i] = in.nextToken().charAt(0);
+                clues.count++;
+            }
+            return clues;
+        }
+    }
+
+    // Play independent sessions in parallel and return the areas after each clue, session by session
+    static double[][] solveBatch(Clues[] sessions, double[] roomX, double[] roomY, boolean full) {
+        double[][] areas = new double[sessions.length][];
+        IntStream.range(0, sessions.length).parallel().forEach(s -> {
+            Clues clues = sessions[s];
+            Session session = new Session(roomX, roomY, full);
+            double[] result = new double[clues.count];
+            for (int i = 0; i < clues.count; i++) result[i] = session.clue(clues.x[i], clues.y[i], clues.status[i]);
+            areas[s] = result;
+        });
+        return areas;
+    }
+
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        // Powers of ten that are exactly representable as doubles, used for correctly rounded decimal parsing
+        private static final double[] POW10 = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
+        }
+
+        // Read the next whitespace-separated token into the scratch buffer and return its length
+        private int readToken() {
+            int n = 0, ch = skipSpaces();
+            while (ch > ' ') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
+            }
+            return n;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
 
-                int m = halfPlaneIntersection(L, lcnt, poly); // Calculate the intersecting region
-                if (m == 0) {
-                    System.out.println("0.00");
-                    flag = false;
+        double nextDouble() {
+            int n = readToken();
+            int i = 0;
+            boolean negative = false;
+            if (n > 0 && (tok[0] == '-' || tok[0] == '+')) {
+                negative = tok[0] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0, fraction = 0;
+            boolean dot = false, simple = true;
+            for (; i < n && simple; i++) {
+                int ch = tok[i];
+                if (ch >= '0' && ch <= '9') {
+                    mantissa = mantissa * 10 + (ch - '0');
+                    digits++;
+                    if (dot) fraction++;
+                    simple = digits <= 18;
+                } else if (ch == '.' && !dot) {
+                    dot = true;
                 } else {
-                    double area = 0.0;
-                    for (int j = 0; j < m; j++) {
-                        area += cross(poly[j], poly[(j + 1) % m]) * 0.5; // Compute area of polygon
-                    }
-                    System.out.println(df.format(Math.abs(area))); // Output the area
+                    simple = false; // Exponents and other forms are left to Double.parseDouble
+                }
+            }
+            // Both operands are exact, so one division gives the same correctly rounded result as Double.parseDouble
+            if (simple && digits > 0 && mantissa < (1L << 53) && fraction < POW10.length) {
+                double value = mantissa / POW10[fraction];
+                return negative ? -value : value;
+            }
+            return Double.parseDouble(new String(tok, 0, n, StandardCharsets.ISO_8859_1));
+        }
+
+        // Return the next whitespace-separated token, or null at the end of the input
+        String nextToken() {
+            int n = readToken();
+            return n == 0 ? null : new String(tok, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        // Print a non-negative value at least the given number of digits wide, padded with leading zeros
+        FastOutput printPadded(long value, int width) {
+            for (long limit = 10; width > 1; width--, limit *= 10) {
+                if (value < limit) write('0');
+            }
+            return print(value);
+        }
+
+        // Print an amount of cents as dollars with two decimals, e.g. 350 as 3.50
+        FastOutput printCents(long cents) {
+            if (cents < 0) {
+                write('-');
+                cents = -cents;
+            }
+            print(cents / 100).write('.');
+            return printPadded(cents % 100, 2);
+        }
+
+        // Print a value with two decimals exactly as new DecimalFormat("0.00").format(value) would
+        FastOutput printFixed2HalfEven(double value) {
+            // Plain rounding only differs from DecimalFormat near a tie, where DecimalFormat rounds the exact binary
+            // value half-even
+            if (!nearTie(value)) {
+                double scaled = Math.abs(value) * 100;
+                double floor = Math.floor(scaled);
+                if (Double.doubleToRawLongBits(value) < 0) write('-'); // DecimalFormat keeps the sign of -0.00
+                return printCents((long) floor + (scaled - floor > 0.5 ? 1 : 0));
+            }
+            return print(new DecimalFormat("0.00").format(value));
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Options: --full recomputes every region from all lines, --room "x1 y1 x2 y2 ..." sets a convex room other
+    // than the 10x10 square, and --batch reads a number of sessions, each in the single-session format, and plays
+    // them in parallel while printing their areas in input order
+    public static void main(String[] args) {
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
+        FastOutput out = new FastOutput(System.out); // Buffered writer for the results
+
+        // Define the initial bounding box (the room)
+        double[] roomX = {0, 10, 10, 0};
+        double[] roomY = {0, 0, 10, 10};
+        boolean full = false, batch = false;
+        for (int a = 0; a < args.length; a++) {
+            if (args[a].equals("--full")) full = true;
+            else if (args[a].equals("--batch")) batch = true;
+            else if (args[a].equals("--room")) {
+                String[] parts = args[++a].trim().split("[\\s,]+");
+                if (parts.length % 2 != 0) {
+                    throw new IllegalArgumentException("--room needs x y pairs, got " + parts.length + " numbers");
+                }
+                roomX = new double[parts.length / 2];
+                roomY = new double[parts.length / 2];
+                for (int i = 0; i < roomX.length; i++) {
+                    roomX[i] = Double.parseDouble(parts[2 * i]);
+                    roomY[i] = Double.parseDouble(parts[2 * i + 1]);
                 }
+                if (ConvexRegion.signedArea(roomX, roomY) < 0) { // Regions are kept counter-clockwise
+                    reverse(roomX);
+                    reverse(roomY);
+                }
+                ConvexRegion.checkConvex(roomX, roomY);
+            }
+        }
+
+        if (batch) {
+            Clues[] sessions = new Clues[in.nextInt()];
+            for (int s = 0; s < sessions.length; s++) sessions[s] = Clues.read(in, in.nextInt());
+            for (double[] areas : solveBatch(sessions, roomX, roomY, full)) {
+                for (double area : areas) out.printFixed2HalfEven(area).println(); // Output the area
             }
-            pre = cur; // Update the previous position
+        } else {
+            // Clues are applied as they are read, so a single session can be streamed through
+            int n = in.nextInt(); // Number of positions
+            Session session = new Session(roomX, roomY, full);
+            for (int i = 0; i < n; i++) {
+                if (in.skipSpaces() == -1) break;
+                double x = in.nextDouble();
+                double y = in.nextDouble();
+                String status = in.nextToken(); // "Hotter", "Colder", or "Same"
+                out.printFixed2HalfEven(session.clue(x, y, status.charAt(0))).println(); // Output the area
+            }
+        }
+        out.flush();
+    }
+
+    static void reverse(double[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            double t = a[i];
+            a[i] = a[j];
+            a[j] = t;
         }
     }
 }
@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 // The problem involves navigating through a cave represented as a grid while minimizing the number of cells that need to be dug.
@@ -12,42 +17,213 @@ public class Main {
     // A large constant representing an infinite number of digs (used for initialization)
     static final int MANY = 0x7F7F7F7F;
 
-    // Maximum number of rows and columns allowed
-    static final int MAXRC = 50;
-
     // Variables to store the number of rows (r), columns (c), and the maximum falling distance (f)
     static int r, c, f;
 
-    // 2D array representing the cave grid. Each cell can be empty ('.') or solid rock ('#')
-    static char[][] ma = new char[MAXRC + 1][MAXRC];
+    // 2D array representing the cave grid, sized to the input plus the ground row. Each cell can be empty ('.') or solid rock ('#')
+    static char[][] ma;
+
+    // Minimum number of digs required to reach a specific state of one row, stored flat and sized to the input
+    // A state is reached either by landing, when the column and both bounds coincide, or by digging a stretch
+    // [left_bound, right_bound] of the row and standing at one of its ends, so the column is always one of the bounds:
+    // atLeft[left_bound * c + right_bound] holds the states standing at the left bound (including single cells)
+    // and atRight[left_bound * c + right_bound] those standing at the right bound of a wider stretch
+    // Every transition moves down, so only the row being expanded (cur) and the row below it (next) are kept
+    static int[] curLeft, curRight, nextLeft, nextRight;
+
+    // Falls of more than one row always land in a state whose column and bounds are the landing column,
+    // so those are kept per row and column instead of as full layers: land[row][column]
+    static int[][] land;
+
+    // fallTo[row][q]: the row where a fall that passes through (row, q) comes to rest on rock or the ground
+    static int[][] fallTo;
+
+    // best[lq * c + rq]: fewest digs of a state in the current row whose walk spans columns lq..rq
+    // reach[x * c + y]: fewest digs of a walk with lq <= x and rq >= y, i.e. one that covers both x and y
+    static int[] best, reach;
+
+    // Nearest column at or beyond q whose cell below is empty (fall) or whose own cell is rock, -1 or c if none
+    static int[] nextFall, prevFall, nextRock, prevRock;
+
+    // Buffered writer for the results
+    static FastOutput out = new FastOutput(System.out);
+
+    // Buffered byte-level reader for System.in, used instead of Scanner to avoid its regex-based tokenizing
+    // Numbers are parsed straight out of the byte buffer, so no intermediate Strings are created for them
+    static class FastInput {
+        private final InputStream in;
+        private final byte[] buf = new byte[1 << 16]; // Read buffer
+        private int len = 0, ptr = 0;                 // Valid bytes in the buffer and the read position
+        private byte[] tok = new byte[64];            // Scratch space for the current token or line
+
+        FastInput(InputStream in) {
+            this.in = in;
+        }
+
+        // Return the next byte without consuming it, or -1 at the end of the input
+        private int peek() {
+            if (ptr == len) {
+                try {
+                    len = in.read(buf, 0, buf.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                ptr = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[ptr] & 0xFF;
+        }
+
+        // Skip whitespace and return the first byte of the next token, or -1 at the end of the input
+        private int skipSpaces() {
+            int ch;
+            while ((ch = peek()) != -1 && ch <= ' ') ptr++;
+            return ch;
+        }
+
+        // Append a byte to the scratch buffer, growing it if necessary
+        private int put(int n, int ch) {
+            if (n == tok.length) tok = Arrays.copyOf(tok, n * 2);
+            tok[n] = (byte) ch;
+            return n + 1;
+        }
+
+        // Read the next whitespace-separated token into the scratch buffer and return its length
+        private int readToken() {
+            int n = 0, ch = skipSpaces();
+            while (ch > ' ') {
+                n = put(n, ch);
+                ptr++;
+                ch = peek();
+            }
+            return n;
+        }
+
+        int nextInt() {
+            return (int) nextLong();
+        }
+
+        long nextLong() {
+            int ch = skipSpaces();
+            boolean negative = false;
+            if (ch == '-' || ch == '+') {
+                negative = ch == '-';
+                ptr++;
+                ch = peek();
+            }
+            if (ch < '0' || ch > '9') throw new NumberFormatException("Expected a digit but found " + ch);
+            long value = 0;
+            while (ch >= '0' && ch <= '9') {
+                value = value * 10 + (ch - '0');
+                ptr++;
+                ch = peek();
+            }
+            return negative ? -value : value;
+        }
+
+        // Return the next whitespace-separated token, or null at the end of the input
+        String nextToken() {
+            int n = readToken();
+            return n == 0 ? null : new String(tok, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Buffered writer for System.out, used instead of per-line println/printf calls on the auto-flushing stream
+    // Numbers are formatted straight into a reusable byte buffer, which is written out in large chunks
+    static class FastOutput {
+        private final OutputStream out;
+        private final byte[] buf = new byte[1 << 16]; // Output buffer
+        private int pos = 0;                          // Number of pending bytes in the buffer
+        private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
 
-    // 4D array to store the minimum number of digs required to reach a specific state
-    // dst[row][current_column][left_bound][right_bound]
-    static int[][][][] dst = new int[MAXRC][MAXRC][MAXRC][MAXRC];
+        FastOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        private void write(int b) {
+            if (pos == buf.length) drain();
+            buf[pos++] = (byte) b;
+        }
+
+        // Hand the pending bytes over to the underlying stream
+        private void drain() {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+        }
+
+        FastOutput print(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // Non-ASCII text is rare here, so encode the remainder the slow way
+                    for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write(b);
+                    return this;
+                }
+                write(ch);
+            }
+            return this;
+        }
+
+        FastOutput print(long value) {
+            // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+            if (value >= 0) value = -value;
+            else write('-');
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' - value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) write(digits[--n]);
+            return this;
+        }
+
+        FastOutput println() {
+            write('\n');
+            return this;
+        }
+
+        // Write out everything printed so far
+        void flush() {
+            drain();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+        FastInput in = new FastInput(System.in); // Buffered reader over the raw input bytes
 
         // Number of test cases. Currently set to 1.
         int nt = 1;
         for (int it = 0; it < nt; it++) {
-            load(sc);   // Load the cave grid and parameters
+            load(in);   // Load the cave grid and parameters
             solve();     // Solve the problem for the loaded grid
-            System.out.println(); // Print a newline after each test case
+            out.println(); // Print a newline after each test case
         }
-        sc.close(); // Close the scanner
+        out.flush();
     }
 
     // Method to load the input data
-    static void load(Scanner sc) {
+    static void load(FastInput in) {
         // Read the number of rows, columns, and maximum falling distance
-        r = sc.nextInt();
-        c = sc.nextInt();
-        f = sc.nextInt();
+        r = in.nextInt();
+        c = in.nextInt();
+        f = in.nextInt();
 
         // Read the cave grid row by row
+        ma = new char[r + 1][c];
         for (int i = 0; i < r; i++) {
-            String line = sc.next();
+            String line = in.nextToken();
             for (int j = 0; j < c; j++) {
                 ma[i][j] = line.charAt(j); // Populate the grid with '.' or '#'
             }
@@ -59,155 +235,169 @@ public class Main {
         }
     }
 
+    // Lower the digs of landing at (row, q) with column and bounds q, falling from row i
+    // Landings on the row below go straight into its layer, and deeper ones wait in land until that row is reached
+    static void relaxLanding(int row, int q, int i, int digs) {
+        if (row == i + 1) {
+            if (nextLeft[q * c + q] > digs) nextLeft[q * c + q] = digs;
+        } else if (land[row][q] > digs) {
+            land[row][q] = digs;
+        }
+    }
+
+    // Take the walk of a state standing at column j of row i with dug bounds [j1, j2] and cost cr
+    // Walking stops before rock outside the bounds, or at a cell whose cell below is empty, where the walker falls
+    // The reachable span [lq, rq] is recorded in best, and any fall at its ends becomes a landing
+    static void walk(int i, int j, int j1, int j2, int cr) {
+        // Moving left: rock only blocks outside the bounds, and a fall ends the walk unless rock comes first
+        int fall = j > 0 ? prevFall[j - 1] : -1;
+        int rock = j1 > 0 ? prevRock[Math.min(j, j1) - 1] : -1;
+        int lq;
+        if (rock >= fall) {
+            lq = rock + 1;
+        } else {
+            lq = fall + 1;
+            if (fallTo[i + 1][fall] - i <= f) relaxLanding(fallTo[i + 1][fall], fall, i, cr);
+        }
+
+        // Moving right, the same way
+        fall = j < c - 1 ? nextFall[j + 1] : c;
+        rock = j2 < c - 1 ? nextRock[Math.max(j, j2) + 1] : c;
+        int rq;
+        if (rock <= fall) {
+            rq = rock - 1;
+        } else {
+            rq = fall - 1;
+            if (fallTo[i + 1][fall] - i <= f) relaxLanding(fallTo[i + 1][fall], fall, i, cr);
+        }
+
+        if (best[lq * c + rq] > cr) best[lq * c + rq] = cr;
+    }
+
     // Method to solve the cave navigation problem
+    // Digging any stretch [a, b] within the walk [lq, rq] costs b - a + 1 and leaves the walker at row i + 1 at the
+    // left end a (unless a is lq) or the right end b (unless b is rq), falling further if the cell below is empty.
+    // Instead of enumerating every stretch of every state, the walks are folded into reach with prefix-minimum
+    // sweeps, so that each stretch of the row below is relaxed once: O(c^2) per row and O(r * c^2) in total
     static void solve() {
-        // Initialize the dst array with MANY (infinite digs) to represent unreachable states
-        for (int i = 0; i < MAXRC; i++) {
-            for (int j = 0; j < MAXRC; j++) {
-                for (int k = 0; k < MAXRC; k++) {
-                    Arrays.fill(dst[i][j][k], MANY);
-                }
+        // Landing rows, built bottom-up once; the ground row r is rock
+        fallTo = new int[r][c];
+        for (int i = r - 1; i >= 0; i--) {
+            for (int q = 0; q < c; q++) {
+                fallTo[i][q] = ma[i + 1][q] == '.' ? fallTo[i + 1][q] : i;
             }
         }
 
+        // Initialize the layers with MANY (infinite digs) to represent unreachable states
+        curLeft = new int[c * c];
+        curRight = new int[c * c];
+        nextLeft = new int[c * c];
+        nextRight = new int[c * c];
+        best = new int[c * c];
+        reach = new int[c * c];
+        nextFall = new int[c];
+        prevFall = new int[c];
+        nextRock = new int[c];
+        prevRock = new int[c];
+        land = new int[r][c];
+        Arrays.fill(curLeft, MANY);
+        Arrays.fill(curRight, MANY);
+        for (int[] row : land) Arrays.fill(row, MANY);
+
         // Starting position: top-left corner with 0 digs and bounds set to the starting column
-        dst[0][0][0][0] = 0;
+        curLeft[0] = 0;
 
         // Iterate through each row up to the second-to-last row
         for (int i = 0; i < r - 1; i++) {
-            // Iterate through each column in the current row
-            for (int j = 0; j < c; j++) {
-                // Iterate through all possible left bounds
-                for (int j1 = 0; j1 < c; j1++) {
-                    // Iterate through all possible right bounds starting from j1
-                    for (int j2 = j1; j2 < c; j2++) {
-                        // If the current state is unreachable, skip it
-                        if (dst[i][j][j1][j2] == MANY) continue;
-
-                        // Current number of digs required to reach this state
-                        int cr = dst[i][j][j1][j2];
-
-                        // Initialize left and right query bounds to the current column
-                        int lq = j, rq = j;
-
-                        // Explore moving left from the current column
-                        for (int q = j - 1; q >= 0; q--) {
-                            // If a solid rock is encountered outside the current bounds, stop searching left
-                            if (ma[i][q] == '#' && (q < j1 || q > j2)) break;
-
-                            // If the cell below is empty, attempt to fall down
-                            if (ma[i + 1][q] == '.') {
-                                int nr = i + 1;
-
-                                // Continue falling straight down until hitting solid rock or the ground
-                                while (ma[nr + 1][q] == '.') {
-                                    nr++;
-                                }
-
-                                // Check if the falling distance does not exceed the maximum allowed
-                                if (nr - i <= f && dst[nr][q][q][q] > cr) {
-                                    dst[nr][q][q][q] = cr; // Update the destination state with the current digs
-                                }
-                                break; // Stop searching further left after a fall
-                            }
-                            lq = q; // Update the left query bound
-                        }
+            // Nearest falls and rocks on either side of each column
+            for (int q = 0; q < c; q++) {
+                prevFall[q] = ma[i + 1][q] == '.' ? q : q > 0 ? prevFall[q - 1] : -1;
+                prevRock[q] = ma[i][q] == '#' ? q : q > 0 ? prevRock[q - 1] : -1;
+            }
+            for (int q = c - 1; q >= 0; q--) {
+                nextFall[q] = ma[i + 1][q] == '.' ? q : q < c - 1 ? nextFall[q + 1] : c;
+                nextRock[q] = ma[i][q] == '#' ? q : q < c - 1 ? nextRock[q + 1] : c;
+            }
+
+            // The row below starts out with the falls that already landed on it from rows further up
+            Arrays.fill(nextLeft, MANY);
+            Arrays.fill(nextRight, MANY);
+            for (int q = 0; q < c; q++) nextLeft[q * c + q] = land[i + 1][q];
+
+            // Walk from every reachable state of the row
+            Arrays.fill(best, MANY);
+            for (int j1 = 0; j1 < c; j1++) {
+                for (int j2 = j1; j2 < c; j2++) {
+                    int cr = curLeft[j1 * c + j2];
+                    if (cr != MANY) walk(i, j1, j1, j2, cr);
+                    cr = curRight[j1 * c + j2];
+                    if (cr != MANY) walk(i, j2, j1, j2, cr);
+                }
+            }
 
-                        // Explore moving right from the current column
-                        for (int q = j + 1; q < c; q++) {
-                            // If a solid rock is encountered outside the current bounds, stop searching right
-                            if (ma[i][q] == '#' && (q < j1 || q > j2)) break;
-
-                            // If the cell below is empty, attempt to fall down
-                            if (ma[i + 1][q] == '.') {
-                                int nr = i + 1;
-
-                                // Continue falling straight down until hitting solid rock or the ground
-                                while (ma[nr + 1][q] == '.') {
-                                    nr++;
-                                }
-
-                                // Check if the falling distance does not exceed the maximum allowed
-                                if (nr - i <= f && dst[nr][q][q][q] > cr) {
-                                    dst[nr][q][q][q] = cr; // Update the destination state with the current digs
-                                }
-                                break; // Stop searching further right after a fall
-                            }
-                            rq = q; // Update the right query bound
+            // reach[x][y] = min of best[lq][rq] over lq <= x and rq >= y
+            for (int x = 0; x < c; x++) {
+                for (int y = c - 1; y >= 0; y--) {
+                    int v = best[x * c + y];
+                    if (x > 0) v = Math.min(v, reach[(x - 1) * c + y]);
+                    if (y < c - 1) v = Math.min(v, reach[x * c + y + 1]);
+                    reach[x * c + y] = v;
+                }
+            }
+
+            // Dig every stretch [a, b] of row i + 1
+            for (int a = 0; a < c; a++) {
+                for (int b = a; b < c; b++) {
+                    int len = b - a + 1; // Number of new digs for the stretch
+
+                    // Ending at the left end a needs a walk with lq < a and rq >= b
+                    int cr = a > 0 ? reach[(a - 1) * c + b] : MANY;
+                    if (cr != MANY) {
+                        int ni = fallTo[i + 1][a];
+                        if (ni == i + 1 && ni - i <= f) {
+                            if (nextLeft[a * c + b] > cr + len) nextLeft[a * c + b] = cr + len;
+                        } else if (b == a && ni - i <= f) {
+                            relaxLanding(ni, a, i, cr + len); // Digging only a is the cheapest way to fall at a
                         }
+                    }
 
-                        // Iterate through all possible new left and right bounds within [lq, rq]
-                        for (int nj1 = lq; nj1 <= rq; nj1++) {
-                            for (int nj2 = nj1; nj2 <= rq; nj2++) {
-                                // Calculate the number of new digs required for the current bounds
-                                int nextr = cr + (nj2 - nj1 + 1);
-
-                                // If the new left bound is different from the original left query bound
-                                if (nj1 != lq) {
-                                    int ni = i + 1;
-
-                                    // Continue falling straight down from the new left bound
-                                    while (ma[ni + 1][nj1] == '.') {
-                                        ni++;
-                                    }
-
-                                    // Check if the falling distance does not exceed the maximum allowed
-                                    if (ni - i <= f) {
-                                        if (ni == i + 1 && dst[ni][nj1][nj1][nj2] > nextr) {
-                                            // Update the destination state if it's a direct fall
-                                            dst[ni][nj1][nj1][nj2] = nextr;
-                                        } else if (dst[ni][nj1][nj1][nj1] > nextr) {
-                                            // Otherwise, update the destination state with the new digs
-                                            dst[ni][nj1][nj1][nj1] = nextr;
-                                        }
-                                    }
-                                }
-
-                                // If the new right bound is different from the original right query bound
-                                if (nj2 != rq) {
-                                    int ni = i + 1;
-
-                                    // Continue falling straight down from the new right bound
-                                    while (ma[ni + 1][nj2] == '.') {
-                                        ni++;
-                                    }
-
-                                    // Check if the falling distance does not exceed the maximum allowed
-                                    if (ni - i <= f) {
-                                        if (ni == i + 1 && dst[ni][nj2][nj1][nj2] > nextr) {
-                                            // Update the destination state if it's a direct fall
-                                            dst[ni][nj2][nj1][nj2] = nextr;
-                                        } else if (dst[ni][nj2][nj2][nj2] > nextr) {
-                                            // Otherwise, update the destination state with the new digs
-                                            dst[ni][nj2][nj2][nj2] = nextr;
-                                        }
-                                    }
-                                }
-                            }
+                    // Ending at the right end b needs a walk with lq <= a and rq > b
+                    cr = b < c - 1 ? reach[a * c + b + 1] : MANY;
+                    if (cr != MANY) {
+                        int ni = fallTo[i + 1][b];
+                        if (ni == i + 1 && ni - i <= f) {
+                            int[] layer = a == b ? nextLeft : nextRight; // Single cells live in nextLeft
+                            if (layer[a * c + b] > cr + len) layer[a * c + b] = cr + len;
+                        } else if (b == a && ni - i <= f) {
+                            relaxLanding(ni, b, i, cr + len);
                         }
                     }
                 }
             }
+
+            // Roll the layers over: the row below becomes the row to expand
+            int[] t = curLeft;
+            curLeft = nextLeft;
+            nextLeft = t;
+            t = curRight;
+            curRight = nextRight;
+            nextRight = t;
         }
 
         // Variable to store the minimum number of digs required to reach the bottom
         int mans = MANY;
 
         // Iterate through all possible states in the last row to find the minimum digs
-        for (int j = 0; j < c; j++) {
-            for (int j1 = 0; j1 < c; j1++) {
-                for (int j2 = j1; j2 < c; j2++) {
-                    mans = Math.min(mans, dst[r - 1][j][j1][j2]);
-                }
-            }
+        for (int k = 0; k < c * c; k++) {
+            mans = Math.min(mans, Math.min(curLeft[k], curRight[k]));
         }
 
         // If the minimum number of digs is still MANY, it means reaching the bottom is impossible
         if (mans == MANY) {
-            System.out.print("No");
+            out.print("No");
         } else {
             // Otherwise, print "Yes" followed by the minimum number of digs required
-            System.out.print("Yes " + mans);
+            out.print("Yes ").print(mans);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Differential check of one problem: run a baseline revision of <problem>/Code.java and the working copy on the
+# same generated inputs and compare their outputs byte for byte
+#
+#   bench/diff.sh <problem> [baseline-ref]
+#
+# The baseline defaults to HEAD. Inputs come from nzpc.gen.Generate, so build it first with mvn -B package.
+# Environment overrides:
+#   SIZES           sizes to generate (default "1 2 5 10 100 1000")
+#   SHAPES          shapes to generate (default: every shape of the problem)
+#   SEEDS           seeds per size and shape (default "1 2 3")
+#   CANDIDATE_ARGS  arguments for the working copy only, e.g. --full for N
+#   JAVA_OPTS       JVM options for both runs, e.g. -Xmx8g for gigabyte inputs
+# Inputs in bench/cases/<problem>/*.txt are checked before the generated ones.
+# Only standard output is compared; a crash shows up as a difference there.
+# Failing inputs are kept under the work directory, and the exit status is 1 if any output differed.
+set -euo pipefail
+
+if [ $# -lt 1 ] || [ $# -gt 2 ]; then
+    echo "usage: $0 <problem> [baseline-ref]" >&2
+    exit 2
+fi
+problem=$(echo "$1" | tr '[:lower:]' '[:upper:]')
+ref=${2:-HEAD}
+
+root=$(git -C "$(dirname "$0")" rev-parse --show-toplevel)
+jar=$root/bench/target/benchmarks.jar
+if [ ! -f "$jar" ]; then
+    echo "$jar not found, run mvn -B package first" >&2
+    exit 2
+fi
+
+# javac needs the file named after its public class
+class=$(sed -n 's/^public class \([A-Za-z0-9_]*\).*/\1/p' "$root/$problem/Code.java")
+work=$(mktemp -d "${TMPDIR:-/tmp}/diff-$problem.XXXXXX")
+mkdir -p "$work/baseline" "$work/candidate"
+git -C "$root" show "$ref:$problem/Code.java" > "$work/baseline/$class.java"
+cp "$root/$problem/Code.java" "$work/candidate/$class.java"
+javac -encoding UTF-8 -nowarn -d "$work/baseline" "$work/baseline/$class.java"
+javac -encoding UTF-8 -nowarn -d "$work/candidate" "$work/candidate/$class.java"
+
+sizes=${SIZES:-1 2 5 10 100 1000}
+shapes=${SHAPES:-$(java -cp "$jar" nzpc.gen.Generate shapes "$problem")}
+seeds=${SEEDS:-1 2 3}
+TIMEFORMAT=%R
+failed=0
+
+# Run both versions on one input and compare their outputs; a differing input is copied to the work directory
+check() {
+    local label=$1 input=$2 base cand
+    # shellcheck disable=SC2086
+    base=$( { time java ${JAVA_OPTS:-} -cp "$work/baseline" "$class" < "$input" > "$work/baseline.out" \
+        2> "$work/baseline.err" || true; } 2>&1 )
+    # shellcheck disable=SC2086
+    cand=$( { time java ${JAVA_OPTS:-} -cp "$work/candidate" "$class" ${CANDIDATE_ARGS:-} < "$input" \
+        > "$work/candidate.out" 2> "$work/candidate.err" || true; } 2>&1 )
+    if cmp -s "$work/baseline.out" "$work/candidate.out"; then
+        echo "ok       $problem $label  baseline ${base}s  candidate ${cand}s"
+    else
+        local kept=$work/failed-${label//[ =]/-}.txt
+        cp "$input" "$kept"
+        echo "MISMATCH $problem $label  input kept in $kept"
+        diff "$work/baseline.out" "$work/candidate.out" | head -n 6 || true
+        failed=1
+    fi
+}
+
+# Inputs that once told two versions apart are kept in bench/cases/<problem> and always run first
+for input in "$root/bench/cases/$problem"/*.txt; do
+    [ -f "$input" ] && check "case=$(basename "$input" .txt)" "$input"
+done
+
+for size in $sizes; do
+    for shape in $shapes; do
+        for seed in $seeds; do
+            java -cp "$jar" nzpc.gen.Generate "$problem" "$size" "$shape" "$seed" > "$work/input.txt"
+            check "size=$size shape=$shape seed=$seed" "$work/input.txt"
+        done
+    done
+done
+
+rm -f "$work"/input.txt "$work"/*.out "$work"/*.err
+[ "$failed" -eq 0 ] && rm -rf "$work"
+exit "$failed"
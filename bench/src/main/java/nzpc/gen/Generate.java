@@ -0,0 +1,120 @@
+package nzpc.gen;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+
+// Command line front end of Inputs: writes one generated input for a problem to standard output
+//   java -cp bench/target/benchmarks.jar nzpc.gen.Generate <problem> <size> [shape] [seed]
+//   java -cp bench/target/benchmarks.jar nzpc.gen.Generate shapes <problem>
+// size is the one scale knob of each problem (the side of a grid, the number of lines, events or values), so that
+// the same command covers a handful of lines up to gigabytes; the output is streamed and never held in memory
+public final class Generate {
+    private Generate() {
+    }
+
+    // Shapes accepted for each problem, the first being the default
+    static String[] shapes(String problem) {
+        switch (problem) {
+            case "F":
+                return new String[] {"random", "hex"};
+            case "I":
+                return new String[] {"random", "staircase", "plateau"};
+            case "J":
+                return new String[] {"random", "nested"};
+            case "K":
+                return new String[] {"few", "distinct"};
+            case "N":
+                return new String[] {"truthful", "random", "tenths"};
+            case "O":
+                return new String[] {"random", "open"};
+            case "P":
+                return new String[] {"pairs", "long"};
+            default:
+                if (problem.length() == 1 && problem.charAt(0) >= 'A' && problem.charAt(0) <= 'P') {
+                    return new String[] {"random"};
+                }
+                throw new IllegalArgumentException("Unknown problem: " + problem);
+        }
+    }
+
+    static void generate(InputWriter out, String problem, int size, String shape, long seed) {
+        if (!Arrays.asList(shapes(problem)).contains(shape)) {
+            throw new IllegalArgumentException("Unknown shape for " + problem + ": " + shape);
+        }
+        switch (problem) {
+            case "A":
+                Inputs.leapYears(out, seed, size);
+                break;
+            case "B":
+                Inputs.discounts(out, seed, size);
+                break;
+            case "C":
+                Inputs.crimeScene(out, seed, 1000, 1000, size, size);
+                break;
+            case "D":
+                Inputs.matches(out, seed); // Always eight games
+                break;
+            case "E":
+                Inputs.ids(out, seed, size);
+                break;
+            case "F":
+                Inputs.hexGrid(out, seed, size, shape);
+                break;
+            case "G":
+                Inputs.dragon(out, seed, size, size);
+                break;
+            case "H":
+                Inputs.players(out, seed); // Always four players
+                break;
+            case "I":
+                Inputs.watershed(out, seed, size, size, shape);
+                break;
+            case "J":
+                // Random expressions come size lines at a time, a nested one is a single line size deep
+                if (shape.equals("nested")) Inputs.snaggle(out, seed, 1, size, shape);
+                else Inputs.snaggle(out, seed, size, 8, shape);
+                break;
+            case "K":
+                Inputs.spikes(out, seed, size, shape.equals("few") ? 1000 : size, 0);
+                break;
+            case "L":
+                Inputs.trafficGrid(out, seed, size, size, 0);
+                break;
+            case "M":
+                Inputs.festivals(out, seed, size, size, size, 50);
+                break;
+            case "N":
+                Inputs.clues(out, seed, size, shape);
+                break;
+            case "O":
+                Inputs.cave(out, seed, size, size, Math.max(1, size / 4), shape);
+                break;
+            case "P":
+                // The judge allows at most 400000 values
+                Inputs.orGroups(out, seed, size, shape.equals("pairs") ? 2 : 50, 30);
+                break;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("shapes")) {
+            System.out.println(String.join(" ", shapes(args[1].toUpperCase())));
+            return;
+        }
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("usage: Generate <problem> <size> [shape] [seed]");
+            System.err.println("       Generate shapes <problem>");
+            System.exit(2);
+        }
+        String problem = args[0].toUpperCase();
+        int size = Integer.parseInt(args[1]);
+        String shape = args.length > 2 ? args[2] : shapes(problem)[0];
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        // Straight to the file descriptor, since InputWriter already buffers
+        InputWriter out = new InputWriter(new FileOutputStream(FileDescriptor.out));
+        generate(out, problem, size, shape, seed);
+        out.flush();
+    }
+}
@@ -0,0 +1,106 @@
+package nzpc.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+// Buffered text writer for generated inputs, in the style of the solutions' FastOutput
+// Inputs can be far larger than memory, so everything streams through one reusable buffer
+public final class InputWriter {
+    private final OutputStream out;
+    private final byte[] buf = new byte[1 << 16]; // Output buffer
+    private int pos = 0;                          // Number of pending bytes in the buffer
+    private final byte[] digits = new byte[20];   // Scratch space for formatting one integer
+    private long written = 0;                     // Bytes handed to the stream so far
+
+    public InputWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    // Run a generator into memory and return the bytes it wrote
+    public static byte[] bytes(Consumer<InputWriter> generator) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        InputWriter writer = new InputWriter(buffer);
+        generator.accept(writer);
+        writer.flush();
+        return buffer.toByteArray();
+    }
+
+    private void write(int b) {
+        if (pos == buf.length) drain();
+        buf[pos++] = (byte) b;
+    }
+
+    // Hand the pending bytes over to the underlying stream
+    private void drain() {
+        try {
+            out.write(buf, 0, pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        written += pos;
+        pos = 0;
+    }
+
+    public InputWriter print(char ch) {
+        write(ch);
+        return this;
+    }
+
+    // Generated inputs are ASCII, so every char is written as one byte
+    public InputWriter print(String s) {
+        for (int i = 0; i < s.length(); i++) write(s.charAt(i));
+        return this;
+    }
+
+    public InputWriter print(long value) {
+        // Digits are produced from a non-positive value so that Long.MIN_VALUE needs no special case
+        if (value >= 0) value = -value;
+        else write('-');
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' - value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (n > 0) write(digits[--n]);
+        return this;
+    }
+
+    // Print units / 10^decimals with exactly the given number of decimals, e.g. (-1205, 2) as -12.05
+    public InputWriter printDecimal(long units, int decimals) {
+        if (decimals == 0) return print(units);
+        if (units < 0) {
+            write('-');
+            units = -units;
+        }
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) scale *= 10;
+        print(units / scale).write('.');
+        for (long limit = scale / 10, rest = units % scale; limit > 0; limit /= 10) {
+            write((int) ('0' + rest / limit % 10));
+        }
+        return this;
+    }
+
+    public InputWriter println() {
+        write('\n');
+        return this;
+    }
+
+    // Total bytes written so far, including those still in the buffer
+    public long size() {
+        return written + pos;
+    }
+
+    // Write out everything printed so far
+    public void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
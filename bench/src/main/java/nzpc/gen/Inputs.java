@@ -0,0 +1,342 @@
+package nzpc.gen;
+
+import java.util.SplittableRandom;
+
+// Seeded random inputs for the solutions, written straight to an InputWriter
+// Every generator is deterministic in its seed and streams its output, so the same call gives the same bytes at
+// any size, from a handful of lines up to inputs far larger than memory
+// Shapes name the worst cases of each problem next to the uniformly random one
+public final class Inputs {
+    private Inputs() {
+    }
+
+    // A: n years, mostly around the present with every century year and its neighbours well represented
+    public static void leapYears(InputWriter out, long seed, int n) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(n).println();
+        for (int i = 0; i < n; i++) {
+            if (random.nextBoolean()) out.print(random.nextInt(1, 4001)).println();
+            else out.print(random.nextInt(1, 41) * 100 + random.nextInt(-1, 2)).println();
+        }
+    }
+
+    // B: a product name, its price in dollars and cents, the "buy B get one free" rule and e quantities
+    public static void discounts(InputWriter out, long seed, int e) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print("Product ").print(random.nextInt(1000)).print(" Deluxe").println();
+        out.print(random.nextInt(0, 100)).print(' ').print(random.nextInt(0, 100)).println();
+        out.print(random.nextInt(1, 10)).println();
+        out.print(e).println();
+        for (int i = 0; i < e; i++) out.print(random.nextInt(1, 1001)).println();
+    }
+
+    // C: an x by y grid, m item positions and n queried cells, all uniform over the grid
+    public static void crimeScene(InputWriter out, long seed, int x, int y, int m, int n) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(x).print(' ').print(y).println();
+        out.print(m).println();
+        cells(out, random, x, y, m);
+        out.print(n).println();
+        cells(out, random, x, y, n);
+    }
+
+    private static void cells(InputWriter out, SplittableRandom random, int x, int y, int count) {
+        for (int i = 0; i < count; i++) {
+            out.print(random.nextInt(1, x + 1)).print(' ').print(random.nextInt(1, y + 1)).println();
+        }
+    }
+
+    // D: the eight game names and their scores; low scores make every kind of draw likely
+    public static void matches(InputWriter out, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < 8; i++) {
+            out.print("Team ").print(random.nextInt(100)).print(" v Team ").print(random.nextInt(100)).println();
+        }
+        for (int i = 0; i < 8; i++) out.print(random.nextInt(4)).print(' ').print(random.nextInt(4)).println();
+    }
+
+    // E: n IDs of one to nine digits without a leading zero, then the "0" terminator
+    public static void ids(InputWriter out, long seed, int n) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < n; i++) {
+            out.print((char) ('1' + random.nextInt(9)));
+            for (int d = random.nextInt(9); d > 0; d--) out.print((char) ('0' + random.nextInt(10)));
+            out.println();
+        }
+        out.print('0').println();
+    }
+
+    // F: an n x n grid of single characters separated by spaces
+    // "random": half of the characters are hexadecimal digits
+    // "hex": every character is a hexadecimal digit, so the whole grid is one number
+    public static void hexGrid(InputWriter out, long seed, int n, String shape) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int hexPercent;
+        switch (shape) {
+            case "random":
+                hexPercent = 50;
+                break;
+            case "hex":
+                hexPercent = 100;
+                break;
+            default:
+                throw unknownShape(shape);
+        }
+        out.print(n).println();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (j > 0) out.print(' ');
+                boolean hex = random.nextInt(100) < hexPercent;
+                out.print(hex ? "0123456789ABCDEF".charAt(random.nextInt(16)) : (char) ('G' + random.nextInt(20)));
+            }
+            out.println();
+        }
+    }
+
+    // G: h head diameters and k knight heights from the same range, so that the dragon is sometimes doomed
+    public static void dragon(InputWriter out, long seed, int h, int k) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(h).print(' ').print(k).println();
+        for (int i = 0; i < h; i++) out.print(random.nextInt(1, 10_001)).println();
+        for (int i = 0; i < k; i++) out.print(random.nextInt(1, 10_001)).println();
+    }
+
+    // H: two teams of two players with their handicaps
+    public static void players(InputWriter out, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < 4; i++) {
+            out.print("Player").print(i + 1).print(' ').print(random.nextInt(0, 41)).println();
+        }
+    }
+
+    // I: an h x w altitude map
+    // "random": altitudes uniform in [0, 99]
+    // "plateau": every altitude equal, so every cell is its own sink
+    // "staircase": a single monotone descent that winds back and forth through the whole map, separated from
+    // itself by walls, so every downhill walk from the far end crosses about half of the cells
+    public static void watershed(InputWriter out, long seed, int h, int w, String shape) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(h).print(' ').print(w).println();
+        long wall = (long) h * w; // Higher than every step of the staircase
+        for (int r = 0; r < h; r++) {
+            for (int c = 0; c < w; c++) {
+                long altitude;
+                switch (shape) {
+                    case "random":
+                        altitude = random.nextInt(100);
+                        break;
+                    case "plateau":
+                        altitude = 0;
+                        break;
+                    case "staircase":
+                        altitude = staircaseStep(r, c, w, wall);
+                        break;
+                    default:
+                        throw unknownShape(shape);
+                }
+                if (c > 0) out.print(' ');
+                out.print(altitude);
+            }
+            out.println();
+        }
+    }
+
+    // Position along the staircase of cell (r, c): even rows are runs of the staircase, alternately left to right
+    // and right to left, and odd rows are walls with one opening at the end where the previous run turned
+    private static long staircaseStep(int r, int c, int w, long wall) {
+        long run = r / 2;
+        if (r % 2 == 0) return run * (w + 1) + (run % 2 == 0 ? c : w - 1 - c);
+        int opening = run % 2 == 0 ? w - 1 : 0;
+        return c == opening ? run * (w + 1) + w : wall;
+    }
+
+    // J: lines Snaggle expressions followed by the "()" terminator
+    // "random": expressions up to the given depth, mixing integers, decimals and probabilities
+    // "nested": every expression is a chain nested exactly depth deep, (p a (p a (... (p a b)...)))
+    public static void snaggle(InputWriter out, long seed, int lines, int depth, String shape) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < lines; i++) {
+            switch (shape) {
+                case "random":
+                    expression(out, random, depth);
+                    break;
+                case "nested":
+                    for (int d = 0; d < depth; d++) {
+                        out.print('(');
+                        probability(out, random).print(' ');
+                        number(out, random).print(' ');
+                    }
+                    number(out, random);
+                    for (int d = 0; d < depth; d++) out.print(')');
+                    break;
+                default:
+                    throw unknownShape(shape);
+            }
+            out.println();
+        }
+        out.print("()").println();
+    }
+
+    // A random expression at most depth deep; leaves are likely enough that its expected size stays bounded
+    private static void expression(InputWriter out, SplittableRandom random, int depth) {
+        if (depth == 0 || random.nextInt(100) < 55) {
+            number(out, random);
+            return;
+        }
+        out.print('(');
+        probability(out, random).print(' ');
+        expression(out, random, depth - 1);
+        out.print(' ');
+        expression(out, random, depth - 1);
+        out.print(')');
+    }
+
+    private static InputWriter number(InputWriter out, SplittableRandom random) {
+        if (random.nextBoolean()) return out.print(random.nextInt(-100, 101));
+        return out.printDecimal(random.nextLong(-100_000, 100_001), random.nextInt(1, 4));
+    }
+
+    private static InputWriter probability(InputWriter out, SplittableRandom random) {
+        return out.printDecimal(random.nextInt(101), 2);
+    }
+
+    // K: the header "T M S", events appliance records and the "0 0 0" marker, then optionally a query batch
+    // for --queries; appliance ids are drawn from [1, appliances], so appliances = events gives distinct ids
+    public static void spikes(InputWriter out, long seed, int events, int appliances, int queries) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long horizon = 8L * events / Math.max(1, Math.min(appliances, events)) + 20; // Typical per-appliance span
+        out.print(horizon).print(' ').print(random.nextInt(0, 20)).print(' ').print(random.nextInt(1, 50)).println();
+        for (int i = 0; i < events; i++) {
+            long deltaT = random.nextInt(0, 16);
+            long deltaP = random.nextInt(-10, 11);
+            if (deltaT == 0 && deltaP == 0) deltaP = 1; // Never the end marker
+            out.print(random.nextInt(1, appliances + 1)).print(' ').print(deltaT).print(' ').print(deltaP).println();
+        }
+        out.print("0 0 0").println();
+        if (queries > 0) {
+            out.print(queries).println();
+            for (int q = 0; q < queries; q++) {
+                out.print(random.nextInt(-20, 40)).print(' ').print(random.nextInt(1, 100)).println();
+            }
+        }
+    }
+
+    // L: a rows x cols grid of signals (green north-south, green east-west, cycle start), then optionally
+    // a query batch for --queries over random points of the doubled grid
+    public static void trafficGrid(InputWriter out, long seed, int rows, int cols, int queries) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(rows).print(' ').print(cols).println();
+        for (int i = 0; i < rows * cols; i++) {
+            out.print(random.nextInt(1, 61)).print(' ').print(random.nextInt(1, 61)).print(' ')
+                    .print(random.nextInt(0, 101)).println();
+        }
+        if (queries > 0) {
+            out.print(queries).println();
+            for (int q = 0; q < queries; q++) {
+                out.print(random.nextInt(2 * rows)).print(' ').print(random.nextInt(2 * cols)).print(' ')
+                        .print(random.nextInt(2 * rows)).print(' ').print(random.nextInt(2 * cols)).print(' ')
+                        .print(random.nextInt(0, 1000)).println();
+            }
+        }
+    }
+
+    // M: an n x m festival map where each town hosts a festival with the given percent chance, and the target k
+    public static void festivals(InputWriter out, long seed, int n, int m, int k, int percent) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(n).print(' ').print(m).print(' ').print(k).println();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) out.print(random.nextInt(100) < percent ? '1' : '0');
+            out.println();
+        }
+    }
+
+    // N: n Hotter/Colder clues with positions in the default 10 x 10 room
+    // "truthful": answers are consistent with a hidden point, so the region shrinks towards it
+    // "random": answers are random, with an occasional "Same"
+    // "tenths": random answers at positions with one decimal, whose areas often end in an exact tie like 60.695
+    public static void clues(InputWriter out, long seed, int n, String shape) {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean truthful;
+        int decimals;
+        switch (shape) {
+            case "truthful":
+                truthful = true;
+                decimals = 3;
+                break;
+            case "random":
+                truthful = false;
+                decimals = 3;
+                break;
+            case "tenths":
+                truthful = false;
+                decimals = 1;
+                break;
+            default:
+                throw unknownShape(shape);
+        }
+        int side = decimals == 3 ? 10_000 : 100; // The side of the room in units of the last decimal
+        long hiddenX = random.nextInt(side + 1), hiddenY = random.nextInt(side + 1);
+        long prevX = 0, prevY = 0;
+        out.print(n).println();
+        for (int i = 0; i < n; i++) {
+            long x = random.nextInt(side + 1), y = random.nextInt(side + 1);
+            String status;
+            if (truthful) {
+                long before = square(prevX - hiddenX) + square(prevY - hiddenY);
+                long after = square(x - hiddenX) + square(y - hiddenY);
+                status = after < before ? "Hotter" : after > before ? "Colder" : "Same";
+            } else {
+                int roll = random.nextInt(100);
+                status = roll < 2 ? "Same" : roll < 51 ? "Hotter" : "Colder";
+            }
+            out.printDecimal(x, decimals).print(' ').printDecimal(y, decimals).print(' ').print(status).println();
+            prevX = x;
+            prevY = y;
+        }
+    }
+
+    private static long square(long v) {
+        return v * v;
+    }
+
+    // O: an r x c cave with maximum fall f, starting on an empty top-left cell
+    // "random": about a third of the cells are rock
+    // "open": every cell is empty, so every stretch of every row can be reached
+    public static void cave(InputWriter out, long seed, int r, int c, int f, String shape) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int rockPercent;
+        switch (shape) {
+            case "random":
+                rockPercent = 33;
+                break;
+            case "open":
+                rockPercent = 0;
+                break;
+            default:
+                throw unknownShape(shape);
+        }
+        out.print(r).print(' ').print(c).print(' ').print(f).println();
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j < c; j++) {
+                boolean rock = (i > 0 || j > 0) && random.nextInt(100) < rockPercent;
+                out.print(rock ? '#' : '.');
+            }
+            out.println();
+        }
+    }
+
+    // P: n values below 2^bits to be grouped k at a time
+    public static void orGroups(InputWriter out, long seed, int n, int k, int bits) {
+        SplittableRandom random = new SplittableRandom(seed);
+        out.print(n).print(' ').print(k).println();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) out.print(' ');
+            out.print(random.nextLong(1L << bits));
+        }
+        out.println();
+    }
+
+    private static IllegalArgumentException unknownShape(String shape) {
+        return new IllegalArgumentException("Unknown shape: " + shape);
+    }
+}
@@ -0,0 +1,54 @@
+package nzpc.i;
+
+import java.io.ByteArrayInputStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Reading an altitude map of the given number of integer tokens with FastInput and with the Scanner it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FastInputBenchmark {
+    @Param({"1000000", "10000000"})
+    int tokens;
+
+    byte[] input;
+
+    @Setup
+    public void generate() {
+        input = InputWriter.bytes(out -> Inputs.watershed(out, 7, tokens / 1000, 1000, "random"));
+    }
+
+    @Benchmark
+    public long fastInput() {
+        Watershed.FastInput in = new Watershed.FastInput(new ByteArrayInputStream(input));
+        long n = (long) in.nextInt() * in.nextInt(), sum = 0;
+        for (long k = 0; k < n; k++) sum += in.nextInt();
+        return sum;
+    }
+
+    @Benchmark
+    public long scanner() {
+        Scanner in = new Scanner(new ByteArrayInputStream(input));
+        long n = (long) in.nextInt() * in.nextInt(), sum = 0;
+        for (long k = 0; k < n; k++) sum += in.nextInt();
+        return sum;
+    }
+}
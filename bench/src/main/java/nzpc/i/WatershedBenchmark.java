@@ -0,0 +1,79 @@
+package nzpc.i;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Sink resolution of I on square maps, sequential and as the parallel pointer-jumping pass at a given thread count
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WatershedBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Map {
+        @Param({"1000", "4000"})
+        int size;
+
+        @Param({"random", "staircase"})
+        String shape;
+
+        int[] altitudes;
+
+        @Setup
+        public void generate() {
+            byte[] input = InputWriter.bytes(out -> Inputs.watershed(out, 42, size, size, shape));
+            Watershed.FastInput in = new Watershed.FastInput(new ByteArrayInputStream(input));
+            int h = in.nextInt(), w = in.nextInt();
+            altitudes = new int[h * w];
+            for (int k = 0; k < altitudes.length; k++) altitudes[k] = in.nextInt();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "2", "4", "8", "16"})
+        int threads;
+
+        ForkJoinPool pool;
+
+        @Setup
+        public void start() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int[] findSinks(Map map) {
+        return Watershed.findSinks(map.altitudes, map.size, map.size);
+    }
+
+    // Parallel streams started from a task of a pool run on that pool, which fixes the thread count
+    @Benchmark
+    public int[] findSinksParallel(Map map, Pool pool) throws Exception {
+        return pool.pool.submit(() -> Watershed.findSinksParallel(map.altitudes, map.size, map.size)).get();
+    }
+}
@@ -0,0 +1,74 @@
+package nzpc.j;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Printing a million results one line each, through FastOutput and through an auto-flushing PrintStream like
+// System.out with the println and printf calls it replaced; output goes to a null stream so only formatting
+// and flushing are measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastOutputBenchmark {
+    @Param({"1000000"})
+    int lines;
+
+    long[] integers;
+    double[] decimals;
+
+    @Setup
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(3);
+        integers = new long[lines];
+        decimals = new double[lines];
+        for (int i = 0; i < lines; i++) {
+            integers[i] = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+            decimals[i] = random.nextDouble(-1000, 1000);
+        }
+    }
+
+    @Benchmark
+    public void integersFastOutput() {
+        SnaggleExpression.FastOutput out = new SnaggleExpression.FastOutput(OutputStream.nullOutputStream());
+        for (long value : integers) out.print(value).println();
+        out.flush();
+    }
+
+    @Benchmark
+    public void integersPrintStream() {
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream(), true);
+        for (long value : integers) out.println(value);
+        out.flush();
+    }
+
+    @Benchmark
+    public void fixed2FastOutput() {
+        SnaggleExpression.FastOutput out = new SnaggleExpression.FastOutput(OutputStream.nullOutputStream());
+        for (double value : decimals) out.printFixed2(value).println();
+        out.flush();
+    }
+
+    @Benchmark
+    public void fixed2Printf() {
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream(), true);
+        for (double value : decimals) out.printf("%.2f%n", value);
+        out.flush();
+    }
+}
@@ -0,0 +1,117 @@
+package nzpc.j;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Evaluating Snaggle expressions: a million random lines, lines nested up to 10^5 deep, and one expression
+// re-parsed on every run against its compiled Program, one parameter vector at a time and in batches
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SnaggleBenchmark {
+
+    // Generated lines split into one byte array with the end offset of each line
+    @State(Scope.Benchmark)
+    public static class Lines {
+        @Param({"1000000:8:random", "10:100000:nested"})
+        String input; // Lines, depth and shape
+
+        byte[] data;
+        int[] ends;
+
+        @Setup
+        public void generate() {
+            String[] spec = input.split(":");
+            int lines = Integer.parseInt(spec[0]), depth = Integer.parseInt(spec[1]);
+            data = InputWriter.bytes(out -> Inputs.snaggle(out, 11, lines, depth, spec[2]));
+            ends = new int[lines];
+            for (int i = 0, k = 0; k < lines; i++) {
+                if (data[i] == '\n') ends[k++] = i;
+            }
+        }
+    }
+
+    // One expression together with its compiled program and random parameter vectors for it
+    @State(Scope.Benchmark)
+    public static class Compiled {
+        static final int BATCH = 1024;
+
+        @Param({"8", "16"})
+        int depth;
+
+        byte[] expression;
+        SnaggleExpression.Program program;
+        double[][] vectors; // One parameter vector per run
+        double[] batch;     // The same vectors laid out by slot for evaluateBatch
+        double[] results = new double[BATCH];
+
+        @Setup
+        public void generate() {
+            byte[] line = InputWriter.bytes(out -> Inputs.snaggle(out, 5, 1, depth, "random"));
+            int end = 0;
+            while (line[end] != '\n') end++;
+            expression = Arrays.copyOf(line, end);
+            program = SnaggleExpression.Program.compile(expression, 0, end);
+            int slots = program.parameters();
+            SplittableRandom random = new SplittableRandom(9);
+            vectors = new double[BATCH][slots];
+            batch = new double[slots * BATCH];
+            for (int v = 0; v < BATCH; v++) {
+                for (int k = 0; k < slots; k++) {
+                    vectors[v][k] = random.nextDouble();
+                    batch[k * BATCH + v] = vectors[v][k];
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Lines lines, Blackhole bh) {
+        SnaggleExpression.Evaluator evaluator = new SnaggleExpression.Evaluator();
+        for (int k = 0, start = 0; k < lines.ends.length; start = lines.ends[k++] + 1) {
+            bh.consume(evaluator.evaluate(lines.data, start, lines.ends[k]));
+        }
+    }
+
+    // What the compiled program saves: the text of the expression parsed again for every run
+    @Benchmark
+    @OperationsPerInvocation(Compiled.BATCH)
+    public void reparse(Compiled compiled, Blackhole bh) {
+        SnaggleExpression.Evaluator evaluator = new SnaggleExpression.Evaluator();
+        for (int v = 0; v < Compiled.BATCH; v++) {
+            bh.consume(evaluator.evaluate(compiled.expression, 0, compiled.expression.length));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Compiled.BATCH)
+    public void program(Compiled compiled, Blackhole bh) {
+        for (double[] vector : compiled.vectors) bh.consume(compiled.program.evaluate(vector));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Compiled.BATCH)
+    public double[] programBatch(Compiled compiled) {
+        compiled.program.evaluateBatch(compiled.batch, Compiled.BATCH, compiled.results);
+        return compiled.results;
+    }
+}
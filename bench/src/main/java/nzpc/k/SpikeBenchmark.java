@@ -0,0 +1,159 @@
+package nzpc.k;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The microspike pipeline of K: the batch sort and sweep, the SpikeIndex answering 10^5 (M, S) queries, the
+// online SpikeMonitor fed record by record, and the per-appliance time table against the boxed HashMap it replaced
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SpikeBenchmark {
+    static final int EVENTS = 1_000_000;
+    static final int QUERIES = 100_000;
+
+    // One generated appliance log, both as raw records and as the time-sorted events the batch engines read
+    @State(Scope.Benchmark)
+    public static class Log {
+        @Param({"1000", "1000000"})
+        int appliances;
+
+        long horizon, threshold, maxDuration;
+        int[] ids;
+        long[] deltaTs, deltaPs;
+        long[] times, powers; // Events within the horizon, in record order
+        long[] sortedTimes, sortedPowers;
+        int events;
+        long[] thresholds, maxDurations;
+        Main.SpikeIndex index;
+
+        @Setup
+        public void generate() {
+            byte[] input = InputWriter.bytes(out -> Inputs.spikes(out, 13, EVENTS, appliances, QUERIES));
+            Main.FastInput in = new Main.FastInput(new ByteArrayInputStream(input));
+            horizon = in.nextLong();
+            threshold = in.nextLong();
+            maxDuration = in.nextLong();
+            ids = new int[EVENTS];
+            deltaTs = new long[EVENTS];
+            deltaPs = new long[EVENTS];
+            times = new long[EVENTS];
+            powers = new long[EVENTS];
+            Main.IntLongMap lastTime = new Main.IntLongMap();
+            for (int i = 0; i < EVENTS; i++) {
+                ids[i] = in.nextInt();
+                deltaTs[i] = in.nextLong();
+                deltaPs[i] = in.nextLong();
+                long time = lastTime.getOrDefault(ids[i], 0) + deltaTs[i];
+                lastTime.put(ids[i], time);
+                if (time <= horizon) {
+                    times[events] = time;
+                    powers[events] = deltaPs[i];
+                    events++;
+                }
+            }
+            in.nextLong(); // The end marker
+            in.nextLong();
+            in.nextLong();
+            int q = in.nextInt();
+            thresholds = new long[q];
+            maxDurations = new long[q];
+            for (int i = 0; i < q; i++) {
+                thresholds[i] = in.nextLong();
+                maxDurations[i] = in.nextLong();
+            }
+            sortedTimes = Arrays.copyOf(times, events);
+            sortedPowers = Arrays.copyOf(powers, events);
+            Main.sortByTime(sortedTimes, sortedPowers, events);
+            index = new Main.SpikeIndex(sortedTimes, sortedPowers, events);
+        }
+    }
+
+    // Appliance ids in which each of the given number of appliances appears exactly twice, in random order
+    @State(Scope.Benchmark)
+    public static class Appliances {
+        @Param({"100000", "1000000", "10000000"})
+        int distinct;
+
+        int[] ids;
+
+        @Setup
+        public void generate() {
+            ids = new int[2 * distinct];
+            for (int i = 0; i < ids.length; i++) ids[i] = 1 + i % distinct;
+            SplittableRandom random = new SplittableRandom(17);
+            for (int i = ids.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1), t = ids[i];
+                ids[i] = ids[j];
+                ids[j] = t;
+            }
+        }
+    }
+
+    // Sorting and sweeping a fresh copy, as one run of the default mode does after reading
+    @Benchmark
+    public long countSpikes(Log log) {
+        long[] times = Arrays.copyOf(log.times, log.events), powers = Arrays.copyOf(log.powers, log.events);
+        Main.sortByTime(times, powers, log.events);
+        return Main.countSpikes(times, powers, log.events, log.threshold, log.maxDuration);
+    }
+
+    @Benchmark
+    public Main.SpikeIndex buildIndex(Log log) {
+        return new Main.SpikeIndex(log.sortedTimes, log.sortedPowers, log.events);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long[] indexQueries(Log log) {
+        return log.index.count(log.thresholds, log.maxDurations);
+    }
+
+    // Reported as records per second
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(EVENTS)
+    public long monitor(Log log) {
+        Main.SpikeMonitor monitor = new Main.SpikeMonitor(log.threshold, log.maxDuration, log.horizon, 1024,
+                (start, end) -> { });
+        for (int i = 0; i < EVENTS; i++) monitor.onEvent(log.ids[i], log.deltaTs[i], log.deltaPs[i]);
+        monitor.advanceTo(log.horizon + 1);
+        return monitor.spikeCount();
+    }
+
+    @Benchmark
+    public Main.IntLongMap intLongMap(Appliances appliances) {
+        Main.IntLongMap lastTime = new Main.IntLongMap();
+        for (int id : appliances.ids) lastTime.put(id, lastTime.getOrDefault(id, 0) + 1);
+        return lastTime;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Long> boxedHashMap(Appliances appliances) {
+        HashMap<Integer, Long> lastTime = new HashMap<>();
+        for (int id : appliances.ids) lastTime.put(id, lastTime.getOrDefault(id, 0L) + 1);
+        return lastTime;
+    }
+}
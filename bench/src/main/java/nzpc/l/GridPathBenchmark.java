@@ -0,0 +1,87 @@
+package nzpc.l;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The crossing-time rule of L on its own and the full corner-to-corner search, on square grids of the given
+// number of intersections per side; 5000 x 5000 needs about 1.2 GB for the signals and the arrival times
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class GridPathBenchmark {
+    static final int CROSSINGS = 1 << 16;
+
+    @Param({"1000", "5000"})
+    int size;
+
+    GridPathSolver solver;
+    int[] xs, ys, directions; // Random crossings of the doubled grid
+    long[] clock;             // and the times they are attempted at
+
+    @Setup
+    public void generate() throws IOException {
+        // The text of a large grid is bigger than the solver itself, so it goes through a temporary file
+        Path file = Files.createTempFile("grid", ".txt");
+        try {
+            try (OutputStream stream = Files.newOutputStream(file)) {
+                InputWriter out = new InputWriter(stream);
+                Inputs.trafficGrid(out, 21, size, size, 0);
+                out.flush();
+            }
+            try (InputStream stream = Files.newInputStream(file)) {
+                solver = GridPathSolver.read(new GridPathSolver.FastInput(stream));
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        SplittableRandom random = new SplittableRandom(21);
+        xs = new int[CROSSINGS];
+        ys = new int[CROSSINGS];
+        directions = new int[CROSSINGS];
+        clock = new long[CROSSINGS];
+        for (int k = 0; k < CROSSINGS; k++) {
+            xs[k] = random.nextInt(2 * size);
+            ys[k] = random.nextInt(2 * size);
+            directions[k] = random.nextInt(4);
+            clock[k] = random.nextLong(0, 1_000_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CROSSINGS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long calculateTime() {
+        long sum = 0;
+        for (int k = 0; k < CROSSINGS; k++) sum += solver.calculateTime(xs[k], ys[k], directions[k], clock[k]);
+        return sum;
+    }
+
+    @Benchmark
+    public long shortestTime() {
+        return solver.shortestTime();
+    }
+}
@@ -0,0 +1,95 @@
+package nzpc.m;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The three engines of M on one square festival map: the interval engine reading rows straight from the input,
+// the bit set DP built on shiftLeft, and the same DP as a parallel wavefront of tiles
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FestivalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Map {
+        @Param({"1000", "2000"})
+        int size;
+
+        // Targets near the expected count keep the answer in doubt until the last cell
+        @Param({"500", "2000"})
+        int k;
+
+        byte[] input;
+        boolean[][] festival;
+
+        @Setup
+        public void generate() {
+            input = InputWriter.bytes(out -> Inputs.festivals(out, 31, size, size, k, 50));
+            Main.FastInput in = open();
+            festival = Main.readGrid(in, size, size);
+        }
+
+        // A reader positioned at the first row of the map
+        Main.FastInput open() {
+            Main.FastInput in = new Main.FastInput(new ByteArrayInputStream(input));
+            in.nextInt();
+            in.nextInt();
+            in.nextInt();
+            in.nextLine();
+            return in;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "4", "16"})
+        int threads;
+
+        ForkJoinPool pool;
+
+        @Setup
+        public void start() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pool.shutdown();
+        }
+    }
+
+    // Includes reading the rows, which this engine does as it goes
+    @Benchmark
+    public boolean interval(Map map) {
+        return Main.canVisitExactly(map.open(), map.size, map.size, map.k);
+    }
+
+    @Benchmark
+    public boolean bitset(Map map) {
+        return Main.canVisitExactly(map.festival, map.k);
+    }
+
+    @Benchmark
+    public boolean wavefront(Map map, Pool pool) {
+        return Main.canVisitExactly(map.festival, map.k, pool.pool);
+    }
+}
@@ -0,0 +1,118 @@
+package nzpc.n;
+
+import java.io.ByteArrayInputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Hotter/Colder sessions of N played clue by clue with the clipping region and with the full recomputation it
+// replaced, and one half-plane intersection over 10^6 lines on a reused engine
+// Run with -prof gc: the engine benchmark should show no allocation per call once its buffers have grown
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class HotterColderBenchmark {
+    static final double[] ROOM_X = {0, 10, 10, 0};
+    static final double[] ROOM_Y = {0, 0, 10, 10};
+
+    @State(Scope.Benchmark)
+    public static class Session {
+        @Param({"1000", "100000", "1000000"})
+        int clues;
+
+        @Param({"truthful", "random"})
+        String shape;
+
+        Main.Clues input;
+
+        @Setup
+        public void generate() {
+            input = read(clues, shape);
+        }
+    }
+
+    // The full recomputation is quadratic in the clues, so it only gets the size it can finish
+    @State(Scope.Benchmark)
+    public static class SmallSession {
+        @Param({"1000"})
+        int clues;
+
+        @Param({"truthful", "random"})
+        String shape;
+
+        Main.Clues input;
+
+        @Setup
+        public void generate() {
+            input = read(clues, shape);
+        }
+    }
+
+    static Main.Clues read(int clues, String shape) {
+        byte[] text = InputWriter.bytes(out -> Inputs.clues(out, 23, clues, shape));
+        Main.FastInput in = new Main.FastInput(new ByteArrayInputStream(text));
+        return Main.Clues.read(in, in.nextInt());
+    }
+
+    static double play(Main.Clues input, boolean full) {
+        Main.Session session = new Main.Session(ROOM_X, ROOM_Y, full);
+        double area = 0;
+        for (int i = 0; i < input.count; i++) area = session.clue(input.x[i], input.y[i], input.status[i]);
+        return area;
+    }
+
+    // Tangents of the unit circle at random angles, whose intersection is a polygon close to the circle
+    @State(Scope.Benchmark)
+    public static class Lines {
+        static final int COUNT = 1_000_000;
+
+        final double[] px = new double[COUNT], py = new double[COUNT], vx = new double[COUNT], vy = new double[COUNT];
+        final Main.HalfPlaneEngine engine = new Main.HalfPlaneEngine();
+
+        @Setup
+        public void generate() {
+            SplittableRandom random = new SplittableRandom(29);
+            for (int i = 0; i < COUNT; i++) {
+                double angle = random.nextDouble(2 * Math.PI);
+                px[i] = Math.cos(angle);
+                py[i] = Math.sin(angle);
+                vx[i] = -py[i];
+                vy[i] = px[i];
+            }
+        }
+    }
+
+    @Benchmark
+    public double clip(Session session) {
+        return play(session.input, false);
+    }
+
+    @Benchmark
+    public double full(SmallSession session) {
+        return play(session.input, true);
+    }
+
+    @Benchmark
+    public double halfPlaneIntersection(Lines lines) {
+        Main.HalfPlaneEngine engine = lines.engine;
+        engine.clear();
+        for (int i = 0; i < Lines.COUNT; i++) engine.add(lines.px[i], lines.py[i], lines.vx[i], lines.vy[i]);
+        engine.intersect();
+        return engine.area();
+    }
+}
@@ -0,0 +1,49 @@
+package nzpc.o;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import nzpc.gen.InputWriter;
+import nzpc.gen.Inputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// solve of O, the O(r * c^2) sweep over the stretches of each row, on a square cave loaded once
+// The solution keeps its state in static fields, so this state is per benchmark and never shared between threads
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaveBenchmark {
+    @Param({"200", "500"})
+    int size;
+
+    // An open cave is the worst case: every stretch of every row is reachable
+    @Param({"random", "open"})
+    String shape;
+
+    @Setup
+    public void load() {
+        byte[] input = InputWriter.bytes(out -> Inputs.cave(out, 37, size, size, size / 4, shape));
+        Main.load(new Main.FastInput(new ByteArrayInputStream(input)));
+        Main.out = new Main.FastOutput(OutputStream.nullOutputStream()); // solve prints its answer
+    }
+
+    // solve only reads the loaded cave and rebuilds all of its own tables, so it can run again on the same one
+    @Benchmark
+    public void solve() {
+        Main.solve();
+    }
+}
@@ -0,0 +1,49 @@
+package nzpc.p;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Resi of P on the largest array the judge allows, for group sizes from pairs to long runs
+// Run with -prof gc to see the tables Resi allocates on every call next to its running time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrGroupsBenchmark {
+    static final int N = 400_000;
+
+    @Param({"2", "3", "50"})
+    int k;
+
+    // Few bits make many equal ORs, all 30 make nearly every group distinct
+    @Param({"4", "30"})
+    int bits;
+
+    int[] a;
+
+    @Setup
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(41);
+        a = new int[Main.MAXN]; // 1-indexed, as main reads it
+        for (int i = 1; i <= N; i++) a[i] = random.nextInt(1 << bits);
+    }
+
+    @Benchmark
+    public long resi() {
+        return Main.Resi(N, a, k);
+    }
+}